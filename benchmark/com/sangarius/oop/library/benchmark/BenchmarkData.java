@@ -0,0 +1,161 @@
+package com.sangarius.oop.library.benchmark;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.Library;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+import com.sangarius.oop.library.persistence.repository.Repository;
+import com.sangarius.oop.library.persistence.repository.impl.json.JsonPathFactory;
+import com.sangarius.oop.library.persistence.repository.impl.json.JsonRepositoryFactory;
+import com.sangarius.oop.library.service.generator.BookGenerator;
+import com.sangarius.oop.library.service.generator.CategoryGenerator;
+import com.sangarius.oop.library.service.generator.LibraryGenerator;
+import com.sangarius.oop.library.service.generator.LoanGenerator;
+import com.sangarius.oop.library.service.generator.ReviewGenerator;
+import com.sangarius.oop.library.service.generator.UserGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Data sets of the persistence benchmarks, generated with the {@code service.generator} classes.
+ * Every format and size has a directory of its own under {@code benchmark-data}. The first fork needing a data set
+ * generates and commits it; later forks and runs load it from the files.
+ */
+final class BenchmarkData {
+
+    /**
+     * Name of the format storing the repositories as JSON files.
+     */
+    static final String JSON = "json";
+
+    /**
+     * Name of the format storing the repositories as binary snapshot files.
+     */
+    static final String BINARY = "binary";
+
+    private static final Path ROOT = Path.of("benchmark-data");
+    private static final String GENERATED_MARKER = ".generated";
+    private static final int LIBRARY_COUNT = 10;
+    private static final int LIBRARY_SAMPLE_SIZE = 100;
+    private static final int KEY_SAMPLE_SIZE = 1024;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Points the repositories to the data set of a format and size, generating it first if needed.
+     * Must be called before anything else in the fork accesses the factory, since the factory is a singleton.
+     *
+     * @param format The name of the format, {@value #JSON} or {@value #BINARY}.
+     * @param size   The number of entities of each type, apart from the libraries.
+     * @return The factory of the repositories holding the data set.
+     */
+    static JsonRepositoryFactory open(String format, int size) {
+        Path directory = ROOT.resolve(format + "-" + size);
+        System.setProperty(JsonPathFactory.DATA_DIRECTORY_PROPERTY, directory.toString());
+        Path marker = directory.resolve(GENERATED_MARKER);
+        try {
+            boolean generated = Files.exists(marker);
+            if (!generated) {
+                clear(directory);
+            }
+            JsonRepositoryFactory factory = factory(format);
+            if (!generated) {
+                generate(factory, size);
+                Files.createFile(marker);
+            }
+            return factory;
+        } catch (IOException e) {
+            throw new JsonFileIOException("Failed to prepare the benchmark data in %s. Details: %s"
+                .formatted(directory, e.getMessage()));
+        }
+    }
+
+    /**
+     * Takes a shuffled sample of the entities of a repository to apply the benchmarked operations to.
+     *
+     * @param repository The repository.
+     * @param <E>        The type of the entities.
+     * @return The sample of entities, at most {@value #KEY_SAMPLE_SIZE} of them.
+     */
+    static <E extends Entity> List<E> sample(Repository<E> repository) {
+        List<E> entities = new ArrayList<>(repository.findAll());
+        Collections.shuffle(entities, new Random(entities.size()));
+        return List.copyOf(entities.subList(0, Math.min(KEY_SAMPLE_SIZE, entities.size())));
+    }
+
+    /**
+     * Gets the factory storing its repositories in a format.
+     *
+     * @param format The name of the format.
+     * @return The singleton factory of the format.
+     */
+    private static JsonRepositoryFactory factory(String format) {
+        return switch (format) {
+            case JSON -> JsonRepositoryFactory.getInstance();
+            case BINARY -> JsonRepositoryFactory.getBinaryInstance();
+            default -> throw new IllegalArgumentException("Unknown benchmark data format: " + format);
+        };
+    }
+
+    /**
+     * Creates the directory of a data set, deleting the files of an unfinished generation.
+     *
+     * @param directory The directory of the data set.
+     * @throws IOException If the directory cannot be created or cleared.
+     */
+    private static void clear(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Generates a data set and commits it to the repository files.
+     * The reviews are listed by the books they review; libraries list a sample of the users, books and loans.
+     *
+     * @param factory The factory of the empty repositories.
+     * @param size    The number of entities of each type, apart from the libraries.
+     */
+    private static void generate(JsonRepositoryFactory factory, int size) {
+        Random random = new Random(size);
+        Set<User> users = UserGenerator.generateUsers(size);
+        Set<Book> books = BookGenerator.generateBooks(size, users, Set.of());
+        Set<Review> reviews = ReviewGenerator.generateReviews(size, users, books);
+        reviews.forEach(review -> review.getBook().addReview(review));
+        Set<Loan> loans = LoanGenerator.generateLoans(size, books, users);
+        Set<Category> categories = CategoryGenerator.generateCategories(size);
+        Set<Library> libraries = LibraryGenerator.generateLibraries(LIBRARY_COUNT,
+            sample(users, random), sample(books, random), sample(loans, random));
+
+        factory.getUserRepository().addAll(users);
+        factory.getCategoryRepository().addAll(categories);
+        factory.getBookRepository().addAll(books);
+        factory.getReviewRepository().addAll(reviews);
+        factory.getLoanRepository().addAll(loans);
+        factory.getLibraryRepository().addAll(libraries);
+        factory.commit();
+    }
+
+    private static <E extends Entity> Set<E> sample(Set<E> entities, Random random) {
+        List<E> list = new ArrayList<>(entities);
+        Collections.shuffle(list, random);
+        return new HashSet<>(list.subList(0, Math.min(LIBRARY_SAMPLE_SIZE, list.size())));
+    }
+}
@@ -0,0 +1,85 @@
+package com.sangarius.oop.library.benchmark;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.repository.Repository;
+import com.sangarius.oop.library.persistence.repository.impl.json.JsonRepositoryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link JsonRepositoryFactory#commit()} after one entity of a repository is replaced by itself, which
+ * makes that repository, and only that one, dirty. The data set on disk is left unchanged.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CommitBenchmark {
+
+    /**
+     * The number of entities of each type.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * The format of the repository files.
+     */
+    @Param({BenchmarkData.JSON, BenchmarkData.BINARY})
+    public String format;
+
+    /**
+     * The repository changed before each commit.
+     */
+    @Param({"books", "categories", "libraries", "loans", "reviews", "users"})
+    public String repository;
+
+    private JsonRepositoryFactory factory;
+    private Runnable change;
+
+    /**
+     * Loads the repository to change and takes the sample of entities to replace.
+     */
+    @Setup
+    public void load() {
+        factory = BenchmarkData.open(format, size);
+        change = switch (repository) {
+            case "books" -> change(factory.getBookRepository());
+            case "categories" -> change(factory.getCategoryRepository());
+            case "libraries" -> change(factory.getLibraryRepository());
+            case "loans" -> change(factory.getLoanRepository());
+            case "reviews" -> change(factory.getReviewRepository());
+            case "users" -> change(factory.getUserRepository());
+            default -> throw new IllegalArgumentException("Unknown repository: " + repository);
+        };
+    }
+
+    @Benchmark
+    public void commit() {
+        change.run();
+        factory.commit();
+    }
+
+    private static <E extends Entity> Runnable change(Repository<E> repository) {
+        List<E> keys = BenchmarkData.sample(repository);
+        int[] next = {0};
+        return () -> {
+            repository.add(keys.get(next[0]));
+            next[0] = (next[0] + 1) % keys.size();
+        };
+    }
+}
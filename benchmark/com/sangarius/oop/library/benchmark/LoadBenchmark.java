@@ -0,0 +1,102 @@
+package com.sangarius.oop.library.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sangarius.oop.library.persistence.repository.contracts.BookRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.CategoryRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.LibraryRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.LoanRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.ReviewRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.UserRepository;
+import com.sangarius.oop.library.persistence.repository.impl.binary.BinarySnapshotFormat;
+import com.sangarius.oop.library.persistence.repository.impl.json.BookJsonRepositoryImpl;
+import com.sangarius.oop.library.persistence.repository.impl.json.CategoryJsonRepositoryImpl;
+import com.sangarius.oop.library.persistence.repository.impl.json.EntityTypeAdapterFactory;
+import com.sangarius.oop.library.persistence.repository.impl.json.JsonSnapshotFormat;
+import com.sangarius.oop.library.persistence.repository.impl.json.LibraryJsonRepositoryImpl;
+import com.sangarius.oop.library.persistence.repository.impl.json.LoanJsonRepositoryImpl;
+import com.sangarius.oop.library.persistence.repository.impl.json.ReviewJsonRepositoryImpl;
+import com.sangarius.oop.library.persistence.repository.impl.json.SnapshotFormat;
+import com.sangarius.oop.library.persistence.repository.impl.json.UserJsonRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks loading each repository file: reading and parsing it, and building the primary and secondary indexes.
+ * The associations of the loaded entities are kept as they are read rather than linked to the other repositories,
+ * so every benchmark loads a single file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class LoadBenchmark {
+
+    /**
+     * The number of entities of each type.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * The format of the repository files.
+     */
+    @Param({BenchmarkData.JSON, BenchmarkData.BINARY})
+    public String format;
+
+    private Gson gson;
+    private SnapshotFormat snapshotFormat;
+
+    /**
+     * Generates the data set if needed and prepares the snapshot format to read it with.
+     */
+    @Setup
+    public void prepare() {
+        BenchmarkData.open(format, size);
+        gson = EntityTypeAdapterFactory.registerAll(new GsonBuilder()).create();
+        snapshotFormat = BenchmarkData.BINARY.equals(format) ? new BinarySnapshotFormat() : new JsonSnapshotFormat(gson);
+    }
+
+    @Benchmark
+    public BookRepository loadBooks() {
+        return new BookJsonRepositoryImpl(gson, snapshotFormat);
+    }
+
+    @Benchmark
+    public CategoryRepository loadCategories() {
+        return new CategoryJsonRepositoryImpl(gson, snapshotFormat);
+    }
+
+    @Benchmark
+    public LibraryRepository loadLibraries() {
+        return new LibraryJsonRepositoryImpl(gson, snapshotFormat);
+    }
+
+    @Benchmark
+    public LoanRepository loadLoans() {
+        return new LoanJsonRepositoryImpl(gson, snapshotFormat);
+    }
+
+    @Benchmark
+    public ReviewRepository loadReviews() {
+        return new ReviewJsonRepositoryImpl(gson, snapshotFormat);
+    }
+
+    @Benchmark
+    public UserRepository loadUsers() {
+        return new UserJsonRepositoryImpl(gson, snapshotFormat);
+    }
+}
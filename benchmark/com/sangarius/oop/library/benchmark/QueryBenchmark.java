@@ -0,0 +1,257 @@
+package com.sangarius.oop.library.benchmark;
+
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.Library;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.contracts.BookRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.CategoryRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.LibraryRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.LoanRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.ReviewRepository;
+import com.sangarius.oop.library.persistence.repository.contracts.UserRepository;
+import com.sangarius.oop.library.persistence.repository.impl.json.JsonRepositoryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the queries of the repositories: {@code findById}, {@code findAll(Predicate)}, the {@code findAllBy*}
+ * queries and the first page of the sorted {@code findPageBy*} queries.
+ * Each invocation looks up the next entity of a shuffled sample, so the lookups do not hit the same entries over and
+ * over; the benchmarks return the number of found entities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class QueryBenchmark {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20, PageRequest.Direction.DESCENDING);
+
+    /**
+     * The number of entities of each type.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * The format of the repository files.
+     */
+    @Param({BenchmarkData.JSON})
+    public String format;
+
+    private BookRepository books;
+    private CategoryRepository categories;
+    private LibraryRepository libraries;
+    private LoanRepository loans;
+    private ReviewRepository reviews;
+    private UserRepository users;
+    private List<Book> bookKeys;
+    private List<Category> categoryKeys;
+    private List<Library> libraryKeys;
+    private List<Loan> loanKeys;
+    private List<Review> reviewKeys;
+    private List<User> userKeys;
+    private int next;
+
+    /**
+     * Loads the repositories and takes the samples of entities to look up.
+     */
+    @Setup
+    public void load() {
+        JsonRepositoryFactory factory = BenchmarkData.open(format, size);
+        books = factory.getBookRepository();
+        categories = factory.getCategoryRepository();
+        libraries = factory.getLibraryRepository();
+        loans = factory.getLoanRepository();
+        reviews = factory.getReviewRepository();
+        users = factory.getUserRepository();
+        bookKeys = BenchmarkData.sample(books);
+        categoryKeys = BenchmarkData.sample(categories);
+        libraryKeys = BenchmarkData.sample(libraries);
+        loanKeys = BenchmarkData.sample(loans);
+        reviewKeys = BenchmarkData.sample(reviews);
+        userKeys = BenchmarkData.sample(users);
+    }
+
+    private <E> E next(List<E> keys) {
+        next = (next + 1) & Integer.MAX_VALUE;
+        return keys.get(next % keys.size());
+    }
+
+    @Benchmark
+    public boolean bookFindById() {
+        return books.findById(next(bookKeys).getId()).isPresent();
+    }
+
+    @Benchmark
+    public int bookFindAll() {
+        return books.findAll(book -> book.getYearPublished() >= 2000).size();
+    }
+
+    @Benchmark
+    public int bookFindAllByCategory() {
+        Book book = next(bookKeys);
+        return books.findAllByCategory(book.getCategory() == null ? null : book.getCategory().getId().toString())
+            .size();
+    }
+
+    @Benchmark
+    public int bookFindAllByAuthor() {
+        return books.findAllByAuthor(next(bookKeys).getAuthor()).size();
+    }
+
+    @Benchmark
+    public int bookFindPageByTitle() {
+        return books.findPageByTitle(FIRST_PAGE).getContent().size();
+    }
+
+    @Benchmark
+    public boolean categoryFindById() {
+        return categories.findById(next(categoryKeys).getId()).isPresent();
+    }
+
+    @Benchmark
+    public int categoryFindAll() {
+        return categories.findAll(category -> category.getName().startsWith("A")).size();
+    }
+
+    @Benchmark
+    public int categoryFindAllByName() {
+        return categories.findAllByName(next(categoryKeys).getName()).size();
+    }
+
+    @Benchmark
+    public boolean libraryFindById() {
+        return libraries.findById(next(libraryKeys).getId()).isPresent();
+    }
+
+    @Benchmark
+    public int libraryFindAll() {
+        return libraries.findAll(library -> library.getBooks().size() > 1).size();
+    }
+
+    @Benchmark
+    public int libraryFindAllByLoans() {
+        return libraries.findAllByLoans().size();
+    }
+
+    @Benchmark
+    public int libraryFindAllByAddress() {
+        return libraries.findAllByAddress(next(libraryKeys).getAddress()).size();
+    }
+
+    @Benchmark
+    public boolean loanFindById() {
+        return loans.findById(next(loanKeys).getId()).isPresent();
+    }
+
+    @Benchmark
+    public int loanFindAll() {
+        return loans.findAll(loan -> loan.getDueDate().isBefore(loan.getLoanDate().plusDays(14))).size();
+    }
+
+    @Benchmark
+    public int loanFindAllByBorrower() {
+        return loans.findAllByBorrower(next(loanKeys).getBorrower()).size();
+    }
+
+    @Benchmark
+    public int loanFindAllByBook() {
+        return loans.findAllByBook(next(loanKeys).getBorrowedBook()).size();
+    }
+
+    @Benchmark
+    public int loanFindAllByLoanDate() {
+        return loans.findAllByLoanDate(next(loanKeys).getLoanDate()).size();
+    }
+
+    @Benchmark
+    public int loanFindAllByDueDate() {
+        return loans.findAllByDueDate(next(loanKeys).getDueDate()).size();
+    }
+
+    @Benchmark
+    public int loanFindAllByLoanDateBetween() {
+        Loan loan = next(loanKeys);
+        return loans.findAllByLoanDateBetween(loan.getLoanDate(), loan.getLoanDate().plusDays(7)).size();
+    }
+
+    @Benchmark
+    public int loanFindAllByDueDateBetween() {
+        Loan loan = next(loanKeys);
+        return loans.findAllByDueDateBetween(loan.getDueDate(), loan.getDueDate().plusDays(7)).size();
+    }
+
+    @Benchmark
+    public int loanFindPageByLoanDate() {
+        return loans.findPageByLoanDate(FIRST_PAGE).getContent().size();
+    }
+
+    @Benchmark
+    public boolean reviewFindById() {
+        return reviews.findById(next(reviewKeys).getId()).isPresent();
+    }
+
+    @Benchmark
+    public int reviewFindAll() {
+        return reviews.findAll(review -> review.getRating() >= 4).size();
+    }
+
+    @Benchmark
+    public int reviewFindAllByBook() {
+        return reviews.findAllByBook(next(reviewKeys).getBook()).size();
+    }
+
+    @Benchmark
+    public int reviewFindAllByReviewer() {
+        return reviews.findAllByReviewer(next(reviewKeys).getReviewer()).size();
+    }
+
+    @Benchmark
+    public int reviewFindAllByRating() {
+        return reviews.findAllByRating(next(reviewKeys).getRating()).size();
+    }
+
+    @Benchmark
+    public int reviewFindPageByRating() {
+        return reviews.findPageByRating(FIRST_PAGE).getContent().size();
+    }
+
+    @Benchmark
+    public boolean userFindById() {
+        return users.findById(next(userKeys).getId()).isPresent();
+    }
+
+    @Benchmark
+    public int userFindAll() {
+        return users.findAll(user -> user.getEmail().endsWith(".com")).size();
+    }
+
+    @Benchmark
+    public boolean userFindByEmail() {
+        return users.findByEmail(next(userKeys).getEmail()).isPresent();
+    }
+
+    @Benchmark
+    public int userFindAllByName() {
+        return users.findAllByName(next(userKeys).getName()).size();
+    }
+}
@@ -0,0 +1,167 @@
+package com.sangarius.oop.library.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.repository.impl.json.EntityTypeAdapterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming entity type adapters with the reflective Gson binding and the tree-model date adapters
+ * used before them, writing and reading lists of books and loans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final Type BOOK_LIST = TypeToken.getParameterized(List.class, Book.class).getType();
+    private static final Type LOAN_LIST = TypeToken.getParameterized(List.class, Loan.class).getType();
+
+    /**
+     * The number of entities of each type.
+     */
+    @Param({"10000"})
+    public int count;
+
+    /**
+     * The adapters binding the entities, {@code streaming} or {@code reflective}.
+     */
+    @Param({"streaming", "reflective"})
+    public String adapters;
+
+    private Gson gson;
+    private List<Book> books;
+    private List<Loan> loans;
+    private String booksJson;
+    private String loansJson;
+
+    /**
+     * Generates the entities and their JSON documents.
+     */
+    @Setup
+    public void generate() {
+        gson = adapters.equals("streaming")
+            ? EntityTypeAdapterFactory.registerAll(new GsonBuilder()).create()
+            : createReflectiveGson();
+        books = generateBooks(count);
+        loans = generateLoans(books);
+        booksJson = gson.toJson(books);
+        loansJson = gson.toJson(loans);
+    }
+
+    @Benchmark
+    public String writeBooks() {
+        return gson.toJson(books);
+    }
+
+    @Benchmark
+    public List<Book> readBooks() {
+        return gson.fromJson(booksJson, BOOK_LIST);
+    }
+
+    @Benchmark
+    public String writeLoans() {
+        return gson.toJson(loans);
+    }
+
+    @Benchmark
+    public List<Loan> readLoans() {
+        return gson.fromJson(loansJson, LOAN_LIST);
+    }
+
+    /**
+     * Creates Gson the way the repositories were configured before the streaming adapters: reflective binding of
+     * the entities and tree-model date adapters building a formatter for every value.
+     *
+     * @return The reflective Gson instance.
+     */
+    private static Gson createReflectiveGson() {
+        GsonBuilder gsonBuilder = new GsonBuilder();
+        gsonBuilder.registerTypeAdapter(LocalDateTime.class,
+            (JsonSerializer<LocalDateTime>) (localDate, srcType, context) ->
+                new JsonPrimitive(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm").format(localDate)));
+        gsonBuilder.registerTypeAdapter(LocalDateTime.class,
+            (JsonDeserializer<LocalDateTime>) (json, typeOfT, context) ->
+                LocalDateTime.parse(json.getAsString(),
+                    DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm").withLocale(Locale.of("uk", "UA"))));
+        gsonBuilder.registerTypeAdapter(LocalDate.class,
+            (JsonSerializer<LocalDate>) (localDate, srcType, context) ->
+                new JsonPrimitive(DateTimeFormatter.ofPattern("dd-MM-yyyy").format(localDate)));
+        gsonBuilder.registerTypeAdapter(LocalDate.class,
+            (JsonDeserializer<LocalDate>) (json, typeOfT, context) ->
+                LocalDate.parse(json.getAsString(),
+                    DateTimeFormatter.ofPattern("dd-MM-yyyy").withLocale(Locale.of("uk", "UA"))));
+        return gsonBuilder.create();
+    }
+
+    /**
+     * Generates books with a category and two reviews each. The reviews belong to a separate book without
+     * reviews, so the object graph has no cycles the reflective binding could not write.
+     *
+     * @param count The number of books.
+     * @return The generated books.
+     */
+    private static List<Book> generateBooks(int count) {
+        Category category = new Category(UUID.randomUUID(), "Benchmark");
+        Book reviewedBook = new Book(UUID.randomUUID(), "Reviewed book", "Author", category, 2000);
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User reviewer = new User(UUID.randomUUID(), "reader" + i + "@example.com", "Reader " + i);
+            Book book = new Book(UUID.randomUUID(), "Title " + i, "Author " + i % 100,
+                new Category(UUID.randomUUID(), "Category " + i % 20), 1900 + i % 120);
+            book.addReview(new Review(UUID.randomUUID(), "First review of book " + i, 1 + i % 5, reviewer, reviewedBook));
+            book.addReview(new Review(UUID.randomUUID(), "Second review of book " + i, 5 - i % 5, reviewer, reviewedBook));
+            books.add(book);
+        }
+        return books;
+    }
+
+    /**
+     * Generates one loan of each book.
+     *
+     * @param books The borrowed books.
+     * @return The generated loans.
+     */
+    private static List<Loan> generateLoans(List<Book> books) {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        List<Loan> loans = new ArrayList<>(books.size());
+        for (int i = 0; i < books.size(); i++) {
+            User borrower = new User(UUID.randomUUID(), "borrower" + i + "@example.com", "Borrower " + i);
+            LocalDate loanDate = start.plusDays(i % 365);
+            loans.add(new Loan(UUID.randomUUID(), loanDate, loanDate.plusDays(14), borrower, books.get(i)));
+        }
+        return loans;
+    }
+}
@@ -7,6 +7,7 @@ import com.sangarius.oop.library.persistence.entity.impl.Library;
 import com.sangarius.oop.library.persistence.entity.impl.Review;
 import com.sangarius.oop.library.persistence.entity.impl.User;
 import com.sangarius.oop.library.persistence.repository.RepositoryFactory;
+import com.sangarius.oop.library.persistence.repository.Transaction;
 import com.sangarius.oop.library.service.BookRepositoryService;
 import com.sangarius.oop.library.service.CategoryRepositoryService;
 import com.sangarius.oop.library.service.LibraryRepositoryService;
@@ -37,38 +38,44 @@ final class Startup {
         RepositoryFactory jsonRepositoryFactory = RepositoryFactory
             .getRepositoryFactory(RepositoryFactory.JSON);
 
-        // User-related operations
-        UserRepositoryService userService = new UserRepositoryService(jsonRepositoryFactory.getUserRepository());
-        Set<User> users = UserGenerator.generateUsers(3);
-        userService.processUsersAndCommit(users);
+        // Stage all generated data in one transaction, so it is validated and written in a single batch
+        try (Transaction transaction = jsonRepositoryFactory.begin()) {
+            // User-related operations
+            UserRepositoryService userService = new UserRepositoryService(jsonRepositoryFactory.getUserRepository());
+            Set<User> users = UserGenerator.generateUsers(3);
+            userService.stageUsers(users, transaction);
 
-        // Review-related operations
-        ReviewRepositoryService reviewService = new ReviewRepositoryService(jsonRepositoryFactory.getReviewRepository());
-        Set<Review> reviews = ReviewGenerator.generateReviews(3, users, "Data/books.json");
-        reviewService.processReviewsAndCommit(reviews);
+            // Review-related operations
+            ReviewRepositoryService reviewService =
+                new ReviewRepositoryService(jsonRepositoryFactory.getReviewRepository());
+            Set<Review> reviews = ReviewGenerator.generateReviews(3, users, "Data/books.json");
+            reviewService.stageReviews(reviews, transaction);
 
-        // Book-related operations
-        BookRepositoryService bookService = new BookRepositoryService(jsonRepositoryFactory.getBookRepository());
-        Set<Book> books = BookGenerator.generateBooks(3, users, reviews);
-        bookService.processBooksAndCommit(books);
+            // Book-related operations
+            BookRepositoryService bookService = new BookRepositoryService(jsonRepositoryFactory.getBookRepository());
+            Set<Book> books = BookGenerator.generateBooks(3, users, reviews);
+            bookService.stageBooks(books, transaction);
 
-        // Loan-related operations
-        LoanRepositoryService loanService = new LoanRepositoryService(jsonRepositoryFactory.getLoanRepository());
-        Set<Loan> loans = LoanGenerator.generateLoans(3, books, users);
-        loanService.processLoansAndCommit(loans);
+            // Loan-related operations
+            LoanRepositoryService loanService = new LoanRepositoryService(jsonRepositoryFactory.getLoanRepository());
+            Set<Loan> loans = LoanGenerator.generateLoans(3, books, users);
+            loanService.stageLoans(loans, transaction);
 
-        // Category-related operations
-        CategoryRepositoryService categoryService = new CategoryRepositoryService(jsonRepositoryFactory.getCategoryRepository());
-        Set<Category> categories = CategoryGenerator.generateCategories(3);
-        categoryService.processCategoriesAndCommit(categories);
+            // Category-related operations
+            CategoryRepositoryService categoryService =
+                new CategoryRepositoryService(jsonRepositoryFactory.getCategoryRepository());
+            Set<Category> categories = CategoryGenerator.generateCategories(3);
+            categoryService.stageCategories(categories, transaction);
 
-        // Library-related operations
-        LibraryRepositoryService libraryService = LibraryRepositoryService.createLibraryRepositoryService(jsonRepositoryFactory);
-        Set<Library> libraries = LibraryGenerator.generateLibraries(3, users, books, loans);
-        libraryService.processLibrariesAndCommit(libraries, users, books, loans);
+            // Library-related operations
+            LibraryRepositoryService libraryService =
+                LibraryRepositoryService.createLibraryRepositoryService(jsonRepositoryFactory);
+            Set<Library> libraries = LibraryGenerator.generateLibraries(3, users, books, loans);
+            libraryService.stageLibraries(libraries, users, books, loans, transaction);
 
-        // Commit changes for all repositories
-        jsonRepositoryFactory.commit();
+            // Apply the changes to all repositories and commit them
+            transaction.commit();
+        }
 
         // Call the render() method from the ConsoleUI class to display the console interface
         try {
@@ -0,0 +1,123 @@
+package com.sangarius.oop.library.appui;
+
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.repository.contracts.BookRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Read model of the books shown by the console interface.
+ * The views are built from the loaded {@link BookRepository} and cached until the repository changes, so listing
+ * and searching books never reads the books file.
+ */
+public class BookCatalog {
+
+    private static final Comparator<Book> BY_TITLE = Comparator.comparing(
+        (Book book) -> book.getTitle() == null ? "" : book.getTitle(), String.CASE_INSENSITIVE_ORDER);
+
+    private final BookRepository bookRepository;
+    private long version = -1;
+    private List<Book> books = List.of();
+    private List<String> titles = List.of();
+    private List<String> authors = List.of();
+    private Map<String, Book> booksByTitle = Map.of();
+    private Map<String, List<Book>> booksByAuthor = Map.of();
+
+    /**
+     * Constructs a new instance of BookCatalog over the provided book repository.
+     *
+     * @param bookRepository The book repository to read the books from.
+     */
+    public BookCatalog(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Gets all books ordered by title.
+     *
+     * @return A read-only list of the books.
+     */
+    public List<Book> getBooks() {
+        refresh();
+        return books;
+    }
+
+    /**
+     * Gets the titles of all books, in the order of {@link #getBooks()}.
+     *
+     * @return A read-only list of the titles.
+     */
+    public List<String> getTitles() {
+        refresh();
+        return titles;
+    }
+
+    /**
+     * Gets the distinct authors of all books in alphabetical order.
+     *
+     * @return A read-only list of the authors.
+     */
+    public List<String> getAuthors() {
+        refresh();
+        return authors;
+    }
+
+    /**
+     * Finds a book by its title, ignoring case.
+     *
+     * @param title The title to search for.
+     * @return An optional containing the book with the title, or empty if there is none.
+     */
+    public Optional<Book> findByTitle(String title) {
+        refresh();
+        return title == null ? Optional.empty() : Optional.ofNullable(booksByTitle.get(normalize(title)));
+    }
+
+    /**
+     * Finds the books written by an author, ignoring case.
+     *
+     * @param author The author to search for.
+     * @return A read-only list of the author's books ordered by title.
+     */
+    public List<Book> findByAuthor(String author) {
+        refresh();
+        return author == null ? List.of() : booksByAuthor.getOrDefault(author, List.of());
+    }
+
+    private void refresh() {
+        long current = bookRepository.getModificationCount();
+        if (current == version) {
+            return;
+        }
+        List<Book> sorted = new ArrayList<>(bookRepository.findAll());
+        sorted.sort(BY_TITLE);
+        Map<String, Book> byTitle = HashMap.newHashMap(sorted.size());
+        Map<String, List<Book>> byAuthor = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Book book : sorted) {
+            if (book.getTitle() != null) {
+                byTitle.putIfAbsent(normalize(book.getTitle()), book);
+            }
+            if (book.getAuthor() != null) {
+                byAuthor.computeIfAbsent(book.getAuthor(), author -> new ArrayList<>()).add(book);
+            }
+        }
+        byAuthor.replaceAll((author, authorBooks) -> List.copyOf(authorBooks));
+        books = List.copyOf(sorted);
+        titles = sorted.stream().map(book -> book.getTitle() == null ? "" : book.getTitle()).toList();
+        authors = List.copyOf(byAuthor.keySet());
+        booksByTitle = byTitle;
+        booksByAuthor = byAuthor;
+        version = current;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
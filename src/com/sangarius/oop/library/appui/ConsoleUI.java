@@ -1,35 +1,125 @@
 package com.sangarius.oop.library.appui;
 
-import com.fasterxml.jackson.core.util.DefaultIndenter;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.node.TextNode;
 import com.sangarius.oop.library.persistence.entity.impl.Book;
 import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.exception.EntityArgumentException;
 import com.sangarius.oop.library.persistence.repository.RepositoryFactory;
+import com.sangarius.oop.library.persistence.repository.contracts.CategoryRepository;
 import com.sangarius.oop.library.service.BookRepositoryService;
+import de.codeshelf.consoleui.elements.PromptableElementIF;
 import de.codeshelf.consoleui.prompt.ConsolePrompt;
 import de.codeshelf.consoleui.prompt.InputResult;
 import de.codeshelf.consoleui.prompt.ListResult;
 import de.codeshelf.consoleui.prompt.builder.ListPromptBuilder;
-import de.codeshelf.consoleui.prompt.builder.PromptBuilder;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.fusesource.jansi.AnsiConsole;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * ConsoleUI class handles rendering the library application interface in the console.
  */
 public class ConsoleUI implements Renderable {
 
+    private static final int SEARCH_RESULT_LIMIT = 20;
+
+    private final RepositoryFactory repositoryFactory = RepositoryFactory
+        .getRepositoryFactory(RepositoryFactory.JSON);
+    private final BookRepositoryService bookService = new BookRepositoryService(
+        repositoryFactory.getBookRepository());
+    private final BookCatalog bookCatalog = new BookCatalog(repositoryFactory.getBookRepository());
+
+    // One console prompt for the whole session, and the prompts of every screen built once
+    private final ConsolePrompt prompt = new ConsolePrompt();
+    private final List<PromptableElementIF> mainMenu = prompt.getPromptBuilder().createListPrompt()
+        .name("library-menu")
+        .message("Welcome to the book library")
+        .newItem("ADD_BOOK").text("Add a book").add()
+        .newItem("SEARCH_BOOK").text("Search for a book").add()
+        .newItem("EDIT_BOOK").text("Edit a book").add()
+        .newItem("DISPLAY_BOOKS").text("Display the list of books").add()
+        .newItem("EXIT").text("Exit").add()
+        .addPrompt()
+        .build();
+    private final List<PromptableElementIF> addMenu = prompt.getPromptBuilder().createListPrompt()
+        .name("add-menu")
+        .message("Add menu:")
+        .newItem("ADD").text("Add a new book").add()
+        .newItem("BACK").text("Back to main menu").add()
+        .addPrompt()
+        .build();
+    private final List<PromptableElementIF> bookDetailsInput = prompt.getPromptBuilder()
+        .createInputPrompt()
+            .name("title")
+            .message("Enter the title of the book: ")
+            .addPrompt()
+        .createInputPrompt()
+            .name("author")
+            .message("Enter the author of the book: ")
+            .addPrompt()
+        .createInputPrompt()
+            .name("category")
+            .message("Enter the category of the book: ")
+            .addPrompt()
+        .createInputPrompt()
+            .name("year")
+            .message("Enter the year the book was published: ")
+            .addPrompt()
+        .build();
+    private final List<PromptableElementIF> searchMenu = prompt.getPromptBuilder().createListPrompt()
+        .name("search-criteria")
+        .message("Choose search criteria:")
+        .newItem("TITLE").text("Search by title").add()
+        .newItem("AUTHOR").text("Search by author").add()
+        .newItem("KEYWORDS").text("Search by keywords").add()
+        .newItem("BACK").text("Back to main menu").add()
+        .addPrompt()
+        .build();
+    private final ChoicePrompt titleChoices = new ChoicePrompt("book-titles", "Choose a book:");
+    private final ChoicePrompt authorChoices = new ChoicePrompt("book-authors", "Choose a book by author:");
+    private final List<PromptableElementIF> keywordsInput = inputPrompt("keywords",
+        "Enter words of the title, author or category: ");
+    private final List<PromptableElementIF> editTitleInput = inputPrompt("title",
+        "Enter the title of the book to edit: ");
+    private final List<PromptableElementIF> editAttributeMenu = prompt.getPromptBuilder().createListPrompt()
+        .name("edit-attribute")
+        .message("Choose the attribute to edit:")
+        .newItem("TITLE").text("Edit title").add()
+        .newItem("AUTHOR").text("Edit author").add()
+        .newItem("YEAR").text("Edit publication year").add()
+        .newItem("CATEGORY").text("Edit category").add()
+        .newItem("BACK").text("Back to main menu").add()
+        .addPrompt()
+        .build();
+    private final List<PromptableElementIF> newTitleInput = inputPrompt("new-title",
+        "Enter the new title for the book: ");
+    private final List<PromptableElementIF> newAuthorInput = inputPrompt("new-author",
+        "Enter the new author for the book: ");
+    private final List<PromptableElementIF> newYearInput = inputPrompt("new-year",
+        "Enter the new year of publication for the book: ");
+    private final List<PromptableElementIF> newCategoryInput = inputPrompt("new-category",
+        "Enter the new category for the book: ");
+
+    /**
+     * The screens of the interface.
+     */
+    private enum Screen {
+        MAIN_MENU,
+        ADD_MENU,
+        ADD_BOOK,
+        SEARCH_MENU,
+        SEARCH_BY_TITLE,
+        SEARCH_BY_AUTHOR,
+        SEARCH_BY_KEYWORDS,
+        EDIT_BOOK,
+        DISPLAY_BOOKS,
+        EXIT
+    }
+
     /**
      * Prints the welcome message with ASCII art.
      */
@@ -60,6 +150,8 @@ public class ConsoleUI implements Renderable {
 
     /**
      * Renders the library application interface in the console.
+     * Every screen returns the screen to show next, so the session runs in a single loop whose stack depth does not
+     * grow with the number of screens shown.
      *
      * @throws IOException if an I/O error occurs.
      */
@@ -67,122 +159,91 @@ public class ConsoleUI implements Renderable {
     public void render() throws IOException {
         // Set up console output with ANSI support
         AnsiConsole.systemInstall();
+        try {
+            Screen screen = Screen.MAIN_MENU;
+            while (screen != Screen.EXIT) {
+                screen = show(screen);
+            }
+        } finally {
+            // Restore the standard console output
+            AnsiConsole.systemUninstall();
+        }
+    }
 
-        // Create a console prompt for user interaction
-        ConsolePrompt prompt = new ConsolePrompt();
-        PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-        // Display welcome message and prompt the user to choose an option from the menu
-        promptBuilder.createListPrompt()
-            .name("library-menu")
-            .message("Welcome to the book library")
-            .newItem("ADD_BOOK").text("Add a book").add()
-            .newItem("SEARCH_BOOK").text("Search for a book").add()
-            .newItem("EDIT_BOOK").text("Edit a book").add()
-            .newItem("DISPLAY_BOOKS").text("Display the list of books").add()
-            .newItem("EXIT").text("Exit").add()
-            .addPrompt();
-
-        // Get the user's choice result
-        var result = prompt.prompt(promptBuilder.build());
-        ListResult resultItem = (ListResult) result.get("library-menu");
-        String selectedItem = resultItem.getSelectedId();
+    /**
+     * Shows a screen of the interface.
+     *
+     * @param screen the screen to show.
+     * @return the screen to show next.
+     * @throws IOException if an I/O error occurs.
+     */
+    private Screen show(Screen screen) throws IOException {
+        return switch (screen) {
+            case MAIN_MENU -> mainMenu();
+            case ADD_MENU -> addBook();
+            case ADD_BOOK -> addNewBook();
+            case SEARCH_MENU -> searchBook();
+            case SEARCH_BY_TITLE -> searchByTitle();
+            case SEARCH_BY_AUTHOR -> searchByAuthor();
+            case SEARCH_BY_KEYWORDS -> searchByKeywords();
+            case EDIT_BOOK -> editBook();
+            case DISPLAY_BOOKS -> displayBooks();
+            case EXIT -> Screen.EXIT;
+        };
+    }
 
+    /**
+     * Prompts the user to choose an option from the main menu.
+     *
+     * @return the screen of the chosen option.
+     * @throws IOException if an I/O error occurs.
+     */
+    private Screen mainMenu() throws IOException {
         // Handle the user's choice
-        switch (selectedItem) {
-            case "ADD_BOOK" ->
-                // Call the method to add a book
-                addBook();
-            case "SEARCH_BOOK" ->
-                // Call the method to search for a book
-                searchBook();
-            case "EDIT_BOOK" ->
-                // Call the method to edit a book
-                editBook();
-            case "DISPLAY_BOOKS" ->
-                // Call the method to display the list of books
-                displayBooks();
-            case "EXIT" ->
-                // Call the method to exit the application
-                System.exit(0);
-            default ->
+        return switch (select(mainMenu, "library-menu")) {
+            case "ADD_BOOK" -> Screen.ADD_MENU;
+            case "SEARCH_BOOK" -> Screen.SEARCH_MENU;
+            case "EDIT_BOOK" -> Screen.EDIT_BOOK;
+            case "DISPLAY_BOOKS" -> Screen.DISPLAY_BOOKS;
+            case "EXIT" -> Screen.EXIT;
+            default -> {
                 // Perform actions in case of an unknown choice
                 System.out.println("Unknown choice. Please try again.");
-        }
-
-        // Restore the standard console output
-        AnsiConsole.systemUninstall();
+                yield Screen.MAIN_MENU;
+            }
+        };
     }
 
     /**
      * Adds a book to the library.
      *
+     * @return the screen of the chosen option.
      * @throws IOException if an I/O error occurs.
      */
-    private void addBook() throws IOException {
+    private Screen addBook() throws IOException {
         // Print the list of books
         printBooks();
 
-        // Create a console prompt for user interaction
-        ConsolePrompt prompt = new ConsolePrompt();
-        PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-        // Prompt the user for options
-        var selectedItemResult = promptBuilder.createListPrompt()
-            .name("add-menu")
-            .message("Add menu:")
-            .newItem("ADD").text("Add a new book").add()
-            .newItem("BACK").text("Back to main menu").add()
-            .addPrompt();
-
-        var result = prompt.prompt(selectedItemResult.build());
-        String selectedItem = ((ListResult) result.get("add-menu")).getSelectedId();
-
         // Handle the user's choice
-        switch (selectedItem) {
-            case "ADD" -> addNewBook();
-            case "BACK" -> render();
-            default -> System.out.println("Unknown option.");
-        }
+        return switch (select(addMenu, "add-menu")) {
+            case "ADD" -> Screen.ADD_BOOK;
+            case "BACK" -> Screen.MAIN_MENU;
+            default -> {
+                System.out.println("Unknown option.");
+                yield Screen.ADD_MENU;
+            }
+        };
     }
 
     /**
      * Adds a new book to the library.
      *
+     * @return the add menu.
      * @throws IOException if an I/O error occurs.
      */
-    private void addNewBook() throws IOException {
-        // Create a JSON repository factory
-        RepositoryFactory jsonRepositoryFactory = RepositoryFactory
-            .getRepositoryFactory(RepositoryFactory.JSON);
-
-        // Create a console prompt for user interaction
-        ConsolePrompt prompt = new ConsolePrompt();
-        PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-        // Prompt the user for book details
-        promptBuilder.createInputPrompt()
-            .name("title")
-            .message("Enter the title of the book: ")
-            .addPrompt();
-        promptBuilder.createInputPrompt()
-            .name("author")
-            .message("Enter the author of the book: ")
-            .addPrompt();
-        promptBuilder.createInputPrompt()
-            .name("category")
-            .message("Enter the category of the book: ")
-            .addPrompt();
-        promptBuilder.createInputPrompt()
-            .name("year")
-            .message("Enter the year the book was published: ")
-            .addPrompt();
-
-        // Combine all prompts into a single prompt sequence
-        var allPrompts = promptBuilder.build();
-
-        // Prompt the user for input using all prompts
-        var results = prompt.prompt(allPrompts);
+    private Screen addNewBook() throws IOException {
+        // Prompt the user for the book details
+        var results = prompt.prompt(bookDetailsInput);
 
         // Extract user input
         String title = ((InputResult)results.get("title")).getInput().trim();
@@ -197,534 +258,353 @@ public class ConsoleUI implements Renderable {
         } catch (NumberFormatException e) {
             // Handle the case when input cannot be parsed to an integer
             System.out.println("Invalid input for year published. Please enter a valid integer.");
-            return; // Exit the method or handle the error as appropriate
+            return Screen.ADD_MENU;
         }
 
         // Створюємо об'єкт UUID для нової книги
         UUID bookId = UUID.randomUUID();
 
-        // Створюємо об'єкт Category
-        Category category = new Category(UUID.randomUUID(), categoryName); // Генеруємо новий UUID для категорії
-
-        // Створюємо новий об'єкт Book з отриманими даними
-        Book newBook = new Book(bookId, title, author, category, yearPublished);
+        // Reuse the stored category with this name, or create a new one
+        Category category;
+        Book newBook;
+        try {
+            category = categoryNamed(categoryName);
+
+            // Створюємо новий об'єкт Book з отриманими даними
+            newBook = new Book(bookId, title, author, category, yearPublished);
+        } catch (EntityArgumentException e) {
+            // Handle empty or too long details
+            System.out.println("Invalid input: " + String.join(" ", e.getErrors()));
+            return Screen.ADD_MENU;
+        }
 
-        // Створення екземпляру BookRepositoryService з використанням відповідного BookRepository
-        BookRepositoryService bookService = new BookRepositoryService(jsonRepositoryFactory.getBookRepository());
+        // Store a new category along with the book
+        storeCategory(category);
 
         // Додавання нової книги за допомогою BookRepositoryService
         bookService.processBooksAndCommit(Set.of(newBook));
 
-        jsonRepositoryFactory.commit();
+        repositoryFactory.commit();
 
         System.out.println("Book added successfully!");
 
-        addBook();
+        return Screen.ADD_MENU;
     }
 
     /**
-     * Searches for a book in the library.
+     * Finds the stored category with a name, or creates a new category that is not stored yet.
+     *
+     * @param name the name of the category.
+     * @return the category with the name.
      */
-    private void searchBook() {
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        try {
-            // Print the list of books
-            printBooks();
-            // Read book data from the JSON file
-            JsonNode booksJson = objectMapper.readTree(new File("Data/books.json"));
-
-            // Create a console prompt for user interaction
-            ConsolePrompt prompt = new ConsolePrompt();
-            PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-            // Create a list of options for choosing search criteria
-            var selectedCriteriaResult = promptBuilder.createListPrompt()
-                .name("search-criteria")
-                .message("Choose search criteria:")
-                .newItem("TITLE").text("Search by title").add()
-                .newItem("AUTHOR").text("Search by author").add()
-                .newItem("BACK").text("Back to main menu").add()
-                .addPrompt();
-
-            // Get the selected option
-            var result = prompt.prompt(selectedCriteriaResult.build());
-            String selectedCriteria = ((ListResult) result.get("search-criteria")).getSelectedId();
-
-            // Handle the selected option
-            switch (selectedCriteria) {
-                case "TITLE" -> searchByTitle(booksJson);
-                case "AUTHOR" -> searchByAuthor(booksJson);
-                case "BACK" -> render();
-                default -> System.out.println("Unknown search criteria.");
-            }
+    private Category categoryNamed(String name) {
+        return repositoryFactory.getCategoryRepository().queryByName(name).findFirst()
+            .orElseGet(() -> new Category(UUID.randomUUID(), name));
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
+    /**
+     * Adds a category to the category repository unless it is already stored there.
+     *
+     * @param category the category of a book.
+     */
+    private void storeCategory(Category category) {
+        CategoryRepository categories = repositoryFactory.getCategoryRepository();
+        if (categories.findById(category.getId()).isEmpty()) {
+            categories.add(category);
         }
     }
 
     /**
-     * Searches for a book by title.
+     * Searches for a book in the library.
      *
-     * @param booksJson the JSON node containing book data.
+     * @return the screen of the chosen search criteria.
+     * @throws IOException if an I/O error occurs.
      */
-    private void searchByTitle(JsonNode booksJson) {
-        try {
-            // Create a list of book titles for display
-            List<String> bookTitles = new ArrayList<>();
-            for (JsonNode book : booksJson) {
-                bookTitles.add(book.get("title").asText());
-            }
+    private Screen searchBook() throws IOException {
+        // Print the list of books
+        printBooks();
 
-            // Create a console prompt for user interaction
-            ConsolePrompt prompt = new ConsolePrompt();
-            PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-            // Create a list of options for choosing a book title
-            ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt()
-                .name("book-titles")
-                .message("Choose a book:");
-
-            // Add each book title to the list of options
-            bookTitles.forEach(title -> listPromptBuilder.newItem(title).add());
-
-            // Build the prompt with a selection hint
-            var selectedTitleResult = listPromptBuilder.addPrompt().build();
-
-            // Get the selected book title
-            var result = prompt.prompt(selectedTitleResult);
-            String selectedTitle = ((ListResult) result.get("book-titles")).getSelectedId();
-
-            // Find the book by the selected title
-            for (JsonNode book : booksJson) {
-                String title = book.get("title").asText();
-                if (title.equalsIgnoreCase(selectedTitle)) {
-                    System.out.println("Book Found:");
-                    System.out.println("Title: " + title);
-                    System.out.println("Author: " + book.get("author").asText());
-                    searchBook();
-                    return;
-                }
+        // Handle the selected option
+        return switch (select(searchMenu, "search-criteria")) {
+            case "TITLE" -> Screen.SEARCH_BY_TITLE;
+            case "AUTHOR" -> Screen.SEARCH_BY_AUTHOR;
+            case "KEYWORDS" -> Screen.SEARCH_BY_KEYWORDS;
+            case "BACK" -> Screen.MAIN_MENU;
+            default -> {
+                System.out.println("Unknown search criteria.");
+                yield Screen.SEARCH_MENU;
             }
+        };
+    }
+
+    /**
+     * Searches for a book by title.
+     *
+     * @return the search menu.
+     * @throws IOException if an I/O error occurs.
+     */
+    private Screen searchByTitle() throws IOException {
+        // Get the selected book title from the titles in the catalog
+        String selectedTitle = select(titleChoices.of(bookCatalog.getTitles()), "book-titles");
+
+        // Find the book by the selected title
+        Optional<Book> book = bookCatalog.findByTitle(selectedTitle);
+        if (book.isPresent()) {
+            System.out.println("Book Found:");
+            System.out.println("Title: " + book.get().getTitle());
+            System.out.println("Author: " + book.get().getAuthor());
+        } else {
             System.out.println("Book not found.");
-        } catch (IOException e) {
-            e.printStackTrace();
         }
+        return Screen.SEARCH_MENU;
     }
 
     /**
      * Searches for a book by author.
      *
-     * @param booksJson the JSON node containing book data.
+     * @return the search menu.
+     * @throws IOException if an I/O error occurs.
      */
-    private void searchByAuthor(JsonNode booksJson) {
-        try {
-            // Create a list of book authors for display
-            List<String> bookAuthors = new ArrayList<>();
-            for (JsonNode book : booksJson) {
-                bookAuthors.add(book.get("author").asText());
-            }
+    private Screen searchByAuthor() throws IOException {
+        // Get the selected author from the distinct authors in the catalog
+        String selectedAuthor = select(authorChoices.of(bookCatalog.getAuthors()), "book-authors");
+
+        // Find books by the selected author
+        List<Book> books = bookCatalog.findByAuthor(selectedAuthor);
+        if (books.isEmpty()) {
+            System.out.println("No books found by " + selectedAuthor + ".");
+        } else {
+            System.out.println("Books Found by " + selectedAuthor + ":");
+            books.forEach(book -> System.out.println("Title: " + book.getTitle()));
+        }
+        return Screen.SEARCH_MENU;
+    }
 
-            // Create a console prompt for user interaction
-            ConsolePrompt prompt = new ConsolePrompt();
-            PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-            // Create a list of options for choosing a book by author
-            ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt()
-                .name("book-authors")
-                .message("Choose a book by author:");
-
-            // Add each book author to the list of options
-            bookAuthors.forEach(author -> listPromptBuilder.newItem(author).add());
-
-            // Build the prompt with a selection hint
-            var selectedAuthorResult = listPromptBuilder.addPrompt().build();
-
-            // Get the selected book author
-            var result = prompt.prompt(selectedAuthorResult);
-            String selectedAuthor = ((ListResult) result.get("book-authors")).getSelectedId();
-
-            // Find books by the selected author
-            boolean found = false;
-            for (JsonNode book : booksJson) {
-                String author = book.get("author").asText();
-                if (author.equalsIgnoreCase(selectedAuthor)) {
-                    if (!found) {
-                        System.out.println("Books Found by " + selectedAuthor + ":");
-                        found = true;
-                    }
-                    System.out.println("Title: " + book.get("title").asText());
-                    searchBook();
-                }
-            }
-            if (!found) {
-                System.out.println("No books found by " + selectedAuthor + ".");
+    /**
+     * Searches for books by words of their title, author or category.
+     *
+     * @return the search menu.
+     * @throws IOException if an I/O error occurs.
+     */
+    private Screen searchByKeywords() throws IOException {
+        // Prompt the user to enter the words to search for
+        String keywords = input(keywordsInput, "keywords");
+
+        // Find the best matching books in the full-text index
+        List<Book> books = repositoryFactory.getBookRepository().search(keywords, SEARCH_RESULT_LIMIT);
+        if (books.isEmpty()) {
+            // Fall back to similar titles and authors in case the keywords are misspelled
+            List<Book> similarBooks = repositoryFactory.getBookRepository()
+                .fuzzySearch(keywords, SEARCH_RESULT_LIMIT);
+            if (similarBooks.isEmpty()) {
+                System.out.println("No books found for '" + keywords + "'.");
+            } else {
+                System.out.println("No exact matches for '" + keywords + "'. Did you mean:");
+                similarBooks.forEach(book -> System.out.println("Title: " + book.getTitle() + ", Author: " + book.getAuthor()));
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+        } else {
+            System.out.println("Books Found for '" + keywords + "':");
+            books.forEach(book -> System.out.println("Title: " + book.getTitle() + ", Author: " + book.getAuthor()));
         }
+        return Screen.SEARCH_MENU;
     }
 
     /**
      * Edits a specific book in the library.
+     * After each edit, the attributes of the same book are offered again until the user goes back.
+     *
+     * @return the main menu.
+     * @throws IOException if an I/O error occurs.
      */
+    private Screen editBook() throws IOException {
+        // Print the list of books
+        printBooks();
 
-    private void editBook() {
-        try {
-            // Print the list of books
-            printBooks();
-
-            // Create a console prompt for user interaction
-            ConsolePrompt prompt = new ConsolePrompt();
-            PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-            // Prompt the user to enter the title of the book to edit
-            promptBuilder.createInputPrompt()
-                .name("title")
-                .message("Enter the title of the book to edit: ")
-                .addPrompt()
-                .build();
-
-            var titleInput = promptBuilder.build();
-            var result = prompt.prompt(titleInput);
-
-            // Get the title entered by the user
-            String bookTitle = ((InputResult)result.get("title")).getInput().trim();
-
-            // Read book data from the JSON file
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode booksJson = objectMapper.readTree(new File("Data/books.json"));
-
-            // Search for the book by title
-            boolean bookFound = false;
-            for (JsonNode book : booksJson) {
-                String title = book.get("title").asText();
-                if (title.equalsIgnoreCase(bookTitle)) {
-                    bookFound = true;
-
-                    // Book found, prompt the user to select an attribute to edit
-                    var selectedAttributeResult = promptBuilder.createListPrompt()
-                        .name("edit-attribute")
-                        .message("Choose the attribute to edit:")
-                        .newItem("TITLE").text("Edit title").add()
-                        .newItem("AUTHOR").text("Edit author").add()
-                        .newItem("YEAR").text("Edit publication year").add()
-                        .newItem("CATEGORY").text("Edit category").add()
-                        .newItem("BACK").text("Back to main menu").add()
-                        .addPrompt()
-                        .build();
-
-                    // Get the selected attribute
-                    var attributeResult = prompt.prompt(selectedAttributeResult);
-                    String selectedAttribute = ((ListResult) attributeResult.get("edit-attribute")).getSelectedId();
-
-                    // Handle the selected attribute
-                    switch (selectedAttribute) {
-                        case "TITLE" -> editTitle(book);
-                        case "AUTHOR" -> editAuthor(book);
-                        case "YEAR" -> editYear(book);
-                        case "CATEGORY" -> editCategory(book);
-                        case "BACK" -> render();
-                        default -> System.out.println("Unknown option.");
-                    }
-                    break;
+        // Prompt the user to enter the title of the book to edit
+        String bookTitle = input(editTitleInput, "title");
+
+        // Search for the book by title in the catalog
+        Optional<Book> foundBook = bookCatalog.findByTitle(bookTitle);
+
+        // Book found, prompt the user to select attributes to edit
+        while (foundBook.isPresent()) {
+            Book book = foundBook.get();
+            switch (select(editAttributeMenu, "edit-attribute")) {
+                case "TITLE" -> editTitle(book);
+                case "AUTHOR" -> editAuthor(book);
+                case "YEAR" -> editYear(book);
+                case "CATEGORY" -> editCategory(book);
+                case "BACK" -> {
+                    return Screen.MAIN_MENU;
                 }
+                default -> System.out.println("Unknown option.");
             }
-
-            // If the book is not found, print a message
-            if (!bookFound) {
-                System.out.println("Book not found.");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+            // Continue with the book as stored after the edit
+            foundBook = repositoryFactory.getBookRepository().findById(book.getId());
         }
-    }
 
-    private void editTitle(JsonNode book) {
-        try {
-            // Get the current title of the book
-            String currentTitle = book.get("title").asText();
-
-            // Prompt the user to enter the new title
-            ConsolePrompt prompt = new ConsolePrompt();
-            PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-            promptBuilder.createInputPrompt()
-                .name("new-title")
-                .message("Enter the new title for the book: ")
-                .addPrompt()
-                .build();
-
-            var titleInput = promptBuilder.build();
-            var result = prompt.prompt(titleInput);
-
-            // Get the new title entered by the user
-            String newTitle = ((InputResult)result.get("new-title")).getInput().trim();
-
-            // Read the entire book data from the JSON file
-            ObjectMapper objectMapper = new ObjectMapper();
-            File jsonFile = new File("Data/books.json");
-            JsonNode booksJson = objectMapper.readTree(jsonFile);
-
-            // Update the title of the specific book in the JSON data
-            if (booksJson.isArray()) {
-                ArrayNode updatedBooksJson = objectMapper.createArrayNode();
-                for (JsonNode node : booksJson) {
-                    ObjectNode mutableBook = (ObjectNode) node;
-                    if (mutableBook.get("title").asText().equalsIgnoreCase(currentTitle)) {
-                        mutableBook.put("title", newTitle);
-                    }
-                    updatedBooksJson.add(mutableBook);
-                }
+        // If the book is not found, print a message
+        System.out.println("Book not found.");
+        return Screen.MAIN_MENU;
+    }
 
-                // Write the updated book data back to the JSON file
-                objectMapper.writeValue(jsonFile, updatedBooksJson);
+    private void editTitle(Book book) throws IOException {
+        // Get the current title of the book
+        String currentTitle = book.getTitle();
 
-                // Format the JSON file for readability
-                formatJsonFile(jsonFile);
+        // Prompt the user to enter the new title
+        String newTitle = input(newTitleInput, "new-title");
 
-                System.out.println("Title updated successfully from '" + currentTitle + "' to '" + newTitle + "'.");
-                editBook();
-            } else {
-                System.out.println("Error: Unable to read book data from JSON file.");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        // Update the title of the book in the repository
+        if (saveEdit(book, edited -> edited.setTitle(newTitle))) {
+            System.out.println("Title updated successfully from '" + currentTitle + "' to '" + newTitle + "'.");
         }
     }
 
-    private void editAuthor(JsonNode book) {
-        try {
-            // Get the current author of the book
-            String currentAuthor = book.get("author").asText();
-
-            // Prompt the user to enter the new author
-            ConsolePrompt prompt = new ConsolePrompt();
-            PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-            promptBuilder.createInputPrompt()
-                .name("new-author")
-                .message("Enter the new author for the book: ")
-                .addPrompt()
-                .build();
-
-            var authorInput = promptBuilder.build();
-            var result = prompt.prompt(authorInput);
-
-            // Get the new author entered by the user
-            String newAuthor = ((InputResult)result.get("new-author")).getInput().trim();
-
-            // Update the author in the JSON data
-            ((ObjectNode) book).put("author", newAuthor);
-
-            // Read the entire book data from the JSON file
-            ObjectMapper objectMapper = new ObjectMapper();
-            File jsonFile = new File("Data/books.json");
-            JsonNode booksJson = objectMapper.readTree(jsonFile);
-
-            // Update the author of the specific book in the JSON data
-            if (booksJson.isArray()) {
-                ArrayNode updatedBooksJson = objectMapper.createArrayNode();
-                for (JsonNode node : booksJson) {
-                    ObjectNode mutableBook = (ObjectNode) node;
-                    if (mutableBook.get("title").asText().equalsIgnoreCase(book.get("title").asText())) {
-                        mutableBook.put("author", newAuthor);
-                    }
-                    updatedBooksJson.add(mutableBook);
-                }
-
-                // Write the updated book data back to the JSON file
-                objectMapper.writeValue(jsonFile, updatedBooksJson);
+    private void editAuthor(Book book) throws IOException {
+        // Get the current author of the book
+        String currentAuthor = book.getAuthor();
 
-                // Format the JSON file for readability
-                formatJsonFile(jsonFile);
+        // Prompt the user to enter the new author
+        String newAuthor = input(newAuthorInput, "new-author");
 
-                System.out.println("Author updated successfully from '" + currentAuthor + "' to '" + newAuthor + "'.");
-                editBook();
-            } else {
-                System.out.println("Error: Unable to read book data from JSON file.");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        // Update the author of the book in the repository
+        if (saveEdit(book, edited -> edited.setAuthor(newAuthor))) {
+            System.out.println("Author updated successfully from '" + currentAuthor + "' to '" + newAuthor + "'.");
         }
     }
 
-    private void editYear(JsonNode book) {
-        try {
-            // Get the current year of publication of the book
-            int currentYear = book.get("yearPublished").asInt();
-
-            // Prompt the user to enter the new year of publication
-            ConsolePrompt prompt = new ConsolePrompt();
-            PromptBuilder promptBuilder = prompt.getPromptBuilder();
+    private void editYear(Book book) throws IOException {
+        // Get the current year of publication of the book
+        int currentYear = book.getYearPublished();
 
-            promptBuilder.createInputPrompt()
-                .name("new-year")
-                .message("Enter the new year of publication for the book: ")
-                .addPrompt()
-                .build();
+        // Prompt the user to enter the new year of publication
+        String yearInput = input(newYearInput, "new-year");
 
-            var yearInput = promptBuilder.build();
-            var result = prompt.prompt(yearInput);
+        // Check if the input is a valid integer
+        int newYear;
+        try {
+            newYear = Integer.parseInt(yearInput);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid input for year. Please enter a valid integer.");
+            return;
+        }
 
-            // Get the new year entered by the user
-            String newYearInput = ((InputResult)result.get("new-year")).getInput().trim();
+        // Update the year of publication of the book in the repository
+        if (saveEdit(book, edited -> edited.setYearPublished(newYear))) {
+            System.out.println("Year of publication updated successfully from '" + currentYear + "' to '" + newYear + "'.");
+        }
+    }
 
-            // Check if the input is a valid integer
-            int newYear;
-            try {
-                newYear = Integer.parseInt(newYearInput);
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid input for year. Please enter a valid integer.");
-                return;
-            }
+    private void editCategory(Book book) throws IOException {
+        // Get the current category of the book
+        String currentCategory = book.getCategory() == null ? "" : book.getCategory().getName();
 
-            // Update the year of publication in the JSON data
-            ((ObjectNode) book).put("yearPublished", newYear);
-
-            // Read the entire book data from the JSON file
-            ObjectMapper objectMapper = new ObjectMapper();
-            File jsonFile = new File("Data/books.json");
-            JsonNode booksJson = objectMapper.readTree(jsonFile);
-
-            // Update the year of publication of the specific book in the JSON data
-            if (booksJson.isArray()) {
-                ArrayNode updatedBooksJson = objectMapper.createArrayNode();
-                for (JsonNode node : booksJson) {
-                    ObjectNode mutableBook = (ObjectNode) node;
-                    if (mutableBook.get("title").asText().equalsIgnoreCase(book.get("title").asText())) {
-                        mutableBook.put("yearPublished", newYear);
-                    }
-                    updatedBooksJson.add(mutableBook);
-                }
+        // Prompt the user to enter the new category
+        String newCategory = input(newCategoryInput, "new-category");
 
-                // Write the updated book data back to the JSON file
-                objectMapper.writeValue(jsonFile, updatedBooksJson);
+        // Reuse the stored category with the new name, or create a new one
+        Category category;
+        try {
+            category = categoryNamed(newCategory);
+        } catch (EntityArgumentException e) {
+            System.out.println("Invalid input: " + String.join(" ", e.getErrors()));
+            return;
+        }
 
-                // Format the JSON file for readability
-                formatJsonFile(jsonFile);
+        // Store a new category along with the book
+        storeCategory(category);
 
-                System.out.println("Year of publication updated successfully from '" + currentYear + "' to '" + newYear + "'.");
-                editBook();
-            } else {
-                System.out.println("Error: Unable to read book data from JSON file.");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        // Update the category of the book in the repository
+        if (saveEdit(book, edited -> edited.setCategory(category))) {
+            System.out.println("Category updated successfully from '" + currentCategory + "' to '" + newCategory + "'.");
         }
     }
 
-    private void editCategory(JsonNode book) {
+    /**
+     * Applies an edit to a book through the book repository and commits the repositories.
+     *
+     * @param book the book to edit.
+     * @param edit the mutation to apply to the book.
+     * @return {@code true} if the book was updated, {@code false} otherwise.
+     */
+    private boolean saveEdit(Book book, Consumer<Book> edit) {
         try {
-            // Get the current category of the book
-            String currentCategory = book.get("category").get("name").asText();
-
-            // Prompt the user to enter the new category
-            ConsolePrompt prompt = new ConsolePrompt();
-            PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-            promptBuilder.createInputPrompt()
-                .name("new-category")
-                .message("Enter the new category for the book: ")
-                .addPrompt()
-                .build();
-
-            var categoryInput = promptBuilder.build();
-            var result = prompt.prompt(categoryInput);
-
-            // Get the new category entered by the user
-            String newCategory = ((InputResult)result.get("new-category")).getInput().trim();
-
-            // Convert the book to a mutable ObjectNode to allow modifications
-            ObjectMapper objectMapper = new ObjectMapper();
-            ObjectNode mutableBook = (ObjectNode) book.deepCopy();
-
-            // Update the category in the mutable book data
-            ((ObjectNode) mutableBook.get("category")).set("name", new TextNode(newCategory));
-
-            // Read the entire book data from the JSON file
-            File jsonFile = new File("Data/books.json");
-            JsonNode booksJson = objectMapper.readTree(jsonFile);
-
-            // Update the category of the specific book in the JSON data
-            if (booksJson.isArray()) {
-                ArrayNode updatedBooksJson = objectMapper.createArrayNode();
-                for (JsonNode node : booksJson) {
-                    ObjectNode currentBook = (ObjectNode) node.deepCopy();
-                    if (currentBook.get("title").asText().equalsIgnoreCase(book.get("title").asText())) {
-                        currentBook.set("category", mutableBook.get("category"));
-                    }
-                    updatedBooksJson.add(currentBook);
-                }
-
-                // Write the updated book data back to the JSON file
-                objectMapper.writeValue(jsonFile, updatedBooksJson);
-
-                // Format the JSON file for readability
-                formatJsonFile(jsonFile);
-
-                System.out.println("Category updated successfully from '" + currentCategory + "' to '" + newCategory + "'.");
-                editBook();
-            } else {
-                System.out.println("Error: Unable to read book data from JSON file.");
+            if (bookService.editBook(book.getId(), edit).isEmpty()) {
+                System.out.println("Book not found.");
+                return false;
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+        } catch (EntityArgumentException e) {
+            System.out.println("Invalid input: " + String.join(" ", e.getErrors()));
+            return false;
         }
+        repositoryFactory.commit();
+        return true;
     }
 
+    /**
+     * Displays the list of books in the library.
+     *
+     * @return the main menu.
+     */
+    private Screen displayBooks() {
+        printBooks();
 
-    private void formatJsonFile(File jsonFile) {
-        try {
-            // Read the JSON data from the file
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode jsonData = objectMapper.readTree(jsonFile);
-
-            // Configure the writer with desired formatting
-            DefaultPrettyPrinter printer = new DefaultPrettyPrinter();
-            printer.indentArraysWith(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
-            printer.indentObjectsWith(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
-            printer.withArrayIndenter(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
-
-            // Write the JSON data back to the file with the specified formatting
-            objectMapper.writer(printer).writeValue(jsonFile, jsonData);
-        } catch (IOException e) {
-            e.printStackTrace();
+        // Iterate over all books in the catalog
+        for (Book book : bookCatalog.getBooks()) {
+            // Get book data from the book
+            String title = book.getTitle();
+            String author = book.getAuthor();
+            int yearPublished = book.getYearPublished();
+            String categoryName = book.getCategory() == null ? "" : book.getCategory().getName();
+
+            // Print book data
+            System.out.println("Title: " + title);
+            System.out.println("Author: " + author);
+            System.out.println("Year Published: " + yearPublished);
+            System.out.println("Category: " + categoryName);
+            System.out.println();
         }
+        return Screen.MAIN_MENU;
     }
 
     /**
-     * Displays the list of books in the library.
+     * Shows a list prompt and gets the chosen item.
+     *
+     * @param listPrompt the list prompt to show.
+     * @param name       the name of the list prompt.
+     * @return the ID of the chosen item.
+     * @throws IOException if an I/O error occurs.
      */
-    private void displayBooks() {
-        // Create an ObjectMapper object to work with JSON
-        ObjectMapper objectMapper = new ObjectMapper();
+    private String select(List<PromptableElementIF> listPrompt, String name) throws IOException {
+        return ((ListResult) prompt.prompt(listPrompt).get(name)).getSelectedId();
+    }
 
-        try {
-            printBooks();
-            // Load JSON from file into a JsonNode
-            JsonNode booksJson = objectMapper.readTree(new File("Data/books.json"));
-
-            // Iterate over all books in the JSON array
-            for (JsonNode bookJson : booksJson) {
-                // Get book data from the JsonNode
-                String title = bookJson.get("title").asText();
-                String author = bookJson.get("author").asText();
-                int yearPublished = bookJson.get("yearPublished").asInt();
-                String categoryName = bookJson.get("category").get("name").asText();
-
-                // Print book data
-                System.out.println("Title: " + title);
-                System.out.println("Author: " + author);
-                System.out.println("Year Published: " + yearPublished);
-                System.out.println("Category: " + categoryName);
-                System.out.println();
-            }
-            render();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    /**
+     * Shows an input prompt and gets the entered text.
+     *
+     * @param inputPrompt the input prompt to show.
+     * @param name        the name of the input prompt.
+     * @return the entered text without leading and trailing whitespace.
+     * @throws IOException if an I/O error occurs.
+     */
+    private String input(List<PromptableElementIF> inputPrompt, String name) throws IOException {
+        return ((InputResult) prompt.prompt(inputPrompt).get(name)).getInput().trim();
+    }
+
+    /**
+     * Builds a prompt with a single text input.
+     *
+     * @param name    the name of the input.
+     * @param message the message shown to the user.
+     * @return the prompt elements.
+     */
+    private List<PromptableElementIF> inputPrompt(String name, String message) {
+        return prompt.getPromptBuilder().createInputPrompt()
+            .name(name)
+            .message(message)
+            .addPrompt()
+            .build();
     }
 
     /**
@@ -753,4 +633,41 @@ public class ConsoleUI implements Renderable {
             }
         }
     }
+
+    /**
+     * List prompt choosing one of the items listed by the catalog.
+     * The prompt is rebuilt only when the catalog returns a new list, that is after the books have changed.
+     */
+    private final class ChoicePrompt {
+
+        private final String name;
+        private final String message;
+        private List<String> items;
+        private List<PromptableElementIF> elements;
+
+        private ChoicePrompt(String name, String message) {
+            this.name = name;
+            this.message = message;
+        }
+
+        /**
+         * Gets the prompt for the given items of the catalog.
+         *
+         * @param currentItems the items to choose from.
+         * @return the prompt elements.
+         */
+        private List<PromptableElementIF> of(List<String> currentItems) {
+            if (currentItems != items) {
+                ListPromptBuilder listPromptBuilder = prompt.getPromptBuilder().createListPrompt()
+                    .name(name)
+                    .message(message);
+
+                // Add each item to the list of options
+                currentItems.forEach(item -> listPromptBuilder.newItem(item).add());
+                elements = listPromptBuilder.addPrompt().build();
+                items = currentItems;
+            }
+            return elements;
+        }
+    }
 }
\ No newline at end of file
@@ -31,13 +31,43 @@ public class Book extends Entity {
      * @param yearPublished The year the book was published.
      */
     public Book(UUID id, String title, String author, Category category, int yearPublished) {
+        this(id, title, author, category, yearPublished, true);
+    }
+
+    /**
+     * Constructs a book, validating it only if asked to.
+     * Books read back from storage are not validated, see {@link EntityRestorer}.
+     *
+     * @param id            The unique identifier of the book.
+     * @param title         The title of the book.
+     * @param author        The author of the book.
+     * @param category      The category of the book.
+     * @param yearPublished The year the book was published.
+     * @param validate      Whether to validate the book.
+     */
+    Book(UUID id, String title, String author, Category category, int yearPublished, boolean validate) {
         super(id);
         this.title = title;
         this.author = author;
         this.category = category;
         this.yearPublished = yearPublished;
         this.reviews = new ArrayList<>();
-        validateBook();
+        if (validate) {
+            validateBook();
+        }
+    }
+
+    /**
+     * Creates a copy of the book listing the same reviews, without validating it.
+     * An edit is tried on a copy before it is applied to the stored book, so the setters report the errors of
+     * the edited values only, and a book stored with values that no longer pass validation can still be fixed.
+     *
+     * @return The copy of the book.
+     */
+    public Book copy() {
+        Book copy = new Book(id, title, author, category, yearPublished, false);
+        copy.reviews.addAll(reviews);
+        return copy;
     }
 
     // Getters and setters for class fields
@@ -118,6 +148,15 @@ public class Book extends Entity {
         validateYearPublished();
     }
 
+    /**
+     * Gets the list of reviews for the book.
+     *
+     * @return The list of reviews for the book.
+     */
+    public List<Review> getReviews() {
+        return reviews;
+    }
+
     /**
      * Adds a review to the list of reviews for the book.
      *
@@ -188,7 +227,7 @@ public class Book extends Entity {
         if (category == null) {
             errors.add(ErrorTemplates.REQUIRED.getTemplate().formatted(templateName));
         }
-        if (category != null && category.getName().length() > 255) {
+        if (category != null && category.getName() != null && category.getName().length() > 255) {
             errors.add(ErrorTemplates.MAX_LENGTH.getTemplate().formatted(templateName, 255));
         }
     }
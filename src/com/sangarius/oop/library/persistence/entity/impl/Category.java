@@ -22,11 +22,24 @@ public class Category extends Entity {
      * @param name The name of the category.
      */
     public Category(UUID id, String name) {
+        this(id, name, true);
+    }
+
+    /**
+     * Constructs a category, validating it only if asked to.
+     * Categories read back from storage are not validated, see {@link EntityRestorer}.
+     *
+     * @param id       The unique identifier of the category.
+     * @param name     The name of the category.
+     * @param validate Whether to validate the category.
+     */
+    Category(UUID id, String name, boolean validate) {
         super(id);
-        this.errors = new ArrayList<>();
-        validateName(name);
-        if (!errors.isEmpty()) {
-            throw new EntityArgumentException(errors);
+        if (validate) {
+            validateName(name);
+            if (!errors.isEmpty()) {
+                throw new EntityArgumentException(errors);
+            }
         }
         this.name = name;
     }
@@ -0,0 +1,96 @@
+package com.sangarius.oop.library.persistence.entity.impl;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Creates entities read back from storage without validating them.
+ * Stored entities were validated when they were created, and a stored entity that fails rules added since then
+ * must still load instead of failing its whole file. Skipping validation also keeps it off the load path of the
+ * repository files. Entities created from user input go through the public constructors, which validate them.
+ * <p>
+ * Intended for the persistence layer only.
+ */
+public final class EntityRestorer {
+
+    private EntityRestorer() {
+    }
+
+    /**
+     * Restores a stored book without reviews.
+     *
+     * @param id            The unique identifier of the book.
+     * @param title         The title of the book.
+     * @param author        The author of the book.
+     * @param category      The category of the book.
+     * @param yearPublished The year the book was published.
+     * @return The restored book.
+     */
+    public static Book book(UUID id, String title, String author, Category category, int yearPublished) {
+        return new Book(id, title, author, category, yearPublished, false);
+    }
+
+    /**
+     * Restores a stored category.
+     *
+     * @param id   The unique identifier of the category.
+     * @param name The name of the category.
+     * @return The restored category.
+     */
+    public static Category category(UUID id, String name) {
+        return new Category(id, name, false);
+    }
+
+    /**
+     * Restores a stored library without books, users or loans.
+     *
+     * @param id      The ID of the library.
+     * @param name    The name of the library.
+     * @param address The address of the library.
+     * @param email   The email of the library.
+     * @return The restored library.
+     */
+    public static Library library(UUID id, String name, String address, String email) {
+        return new Library(id, name, address, email, false);
+    }
+
+    /**
+     * Restores a stored loan.
+     *
+     * @param id           The ID of the loan.
+     * @param loanDate     The date when the loan was made.
+     * @param dueDate      The due date for returning the book.
+     * @param borrower     The borrower (user).
+     * @param borrowedBook The book being borrowed.
+     * @return The restored loan.
+     */
+    public static Loan loan(UUID id, LocalDate loanDate, LocalDate dueDate, User borrower, Book borrowedBook) {
+        return new Loan(id, loanDate, dueDate, borrower, borrowedBook, false);
+    }
+
+    /**
+     * Restores a stored review.
+     *
+     * @param id         The ID of the review.
+     * @param reviewText The text of the review.
+     * @param rating     The rating given in the review.
+     * @param reviewer   The reviewer (user).
+     * @param book       The associated book.
+     * @return The restored review.
+     */
+    public static Review review(UUID id, String reviewText, int rating, User reviewer, Book book) {
+        return new Review(id, reviewText, rating, reviewer, book, false);
+    }
+
+    /**
+     * Restores a stored user.
+     *
+     * @param id    The ID of the user.
+     * @param email The email of the user.
+     * @param name  The name of the user.
+     * @return The restored user.
+     */
+    public static User user(UUID id, String email, String name) {
+        return new User(id, email, name, false);
+    }
+}
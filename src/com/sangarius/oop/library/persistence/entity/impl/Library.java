@@ -30,6 +30,20 @@ public class Library extends Entity {
      * @param email   The email of the library.
      */
     public Library(UUID id, String name, String address, String email) {
+        this(id, name, address, email, true);
+    }
+
+    /**
+     * Constructs a library, validating it only if asked to.
+     * Libraries read back from storage are not validated, see {@link EntityRestorer}.
+     *
+     * @param id       The ID of the library.
+     * @param name     The name of the library.
+     * @param address  The address of the library.
+     * @param email    The email of the library.
+     * @param validate Whether to validate the library.
+     */
+    Library(UUID id, String name, String address, String email, boolean validate) {
         super(id);
         this.name = name;
         this.address = address;
@@ -37,7 +51,9 @@ public class Library extends Entity {
         this.books = new ArrayList<>();
         this.users = new ArrayList<>();
         this.loans = new ArrayList<>();
-        validateLibrary();
+        if (validate) {
+            validateLibrary();
+        }
     }
 
     // Getters and setters for class fields
@@ -28,12 +28,29 @@ public class Loan extends Entity {
      * @param borrowedBook The book being borrowed.
      */
     public Loan(UUID id, LocalDate loanDate, LocalDate dueDate, User borrower, Book borrowedBook) {
+        this(id, loanDate, dueDate, borrower, borrowedBook, true);
+    }
+
+    /**
+     * Constructs a loan, validating it only if asked to.
+     * Loans read back from storage are not validated, see {@link EntityRestorer}.
+     *
+     * @param id           The ID of the loan.
+     * @param loanDate     The date when the loan was made.
+     * @param dueDate      The due date for returning the book.
+     * @param borrower     The borrower (user).
+     * @param borrowedBook The book being borrowed.
+     * @param validate     Whether to validate the loan.
+     */
+    Loan(UUID id, LocalDate loanDate, LocalDate dueDate, User borrower, Book borrowedBook, boolean validate) {
         super(id);
         this.loanDate = loanDate;
         this.dueDate = dueDate;
         this.borrower = borrower;
         this.borrowedBook = borrowedBook;
-        validateLoan();
+        if (validate) {
+            validateLoan();
+        }
     }
 
     // Getters and setters for class fields
@@ -27,12 +27,29 @@ public class Review extends Entity {
      * @param book        The associated book.
      */
     public Review(UUID id, String reviewText, int rating, User reviewer, Book book) {
+        this(id, reviewText, rating, reviewer, book, true);
+    }
+
+    /**
+     * Constructs a review, validating it only if asked to.
+     * Reviews read back from storage are not validated, see {@link EntityRestorer}.
+     *
+     * @param id          The ID of the review.
+     * @param reviewText  The text of the review.
+     * @param rating      The rating given in the review.
+     * @param reviewer    The reviewer (user).
+     * @param book        The associated book.
+     * @param validate    Whether to validate the review.
+     */
+    Review(UUID id, String reviewText, int rating, User reviewer, Book book, boolean validate) {
         super(id);
         this.reviewText = reviewText;
         this.rating = rating;
         this.reviewer = reviewer;
         this.book = book;
-        validateReview();
+        if (validate) {
+            validateReview();
+        }
     }
 
     // Getters and setters for class fields
@@ -188,7 +205,8 @@ public class Review extends Entity {
     }
 
     /**
-     * Returns a string representation of the review.
+     * Returns a string representation of the review. The book is represented by its title, as the book lists the
+     * review in turn.
      *
      * @return A string representation of the review.
      */
@@ -199,7 +217,7 @@ public class Review extends Entity {
             ", reviewText='" + reviewText + '\'' +
             ", rating=" + rating +
             ", reviewer=" + reviewer +
-            ", book=" + book +
+            ", book=" + (book == null ? null : "'" + book.getTitle() + "'") +
             '}';
     }
 }
\ No newline at end of file
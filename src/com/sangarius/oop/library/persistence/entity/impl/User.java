@@ -25,10 +25,25 @@ public class User extends Entity {
      * @param name  The name of the user.
      */
     public User(UUID id, String email, String name) {
+        this(id, email, name, true);
+    }
+
+    /**
+     * Constructs a user, validating it only if asked to.
+     * Users read back from storage are not validated, see {@link EntityRestorer}.
+     *
+     * @param id       The ID of the user.
+     * @param email    The email of the user.
+     * @param name     The name of the user.
+     * @param validate Whether to validate the user.
+     */
+    User(UUID id, String email, String name, boolean validate) {
         super(id);
         this.email = email;
         this.name = name;
-        validate();
+        if (validate) {
+            validate();
+        }
     }
 
     // Getters and setters for class fields
@@ -93,7 +108,7 @@ public class User extends Entity {
         if (name == null || name.isBlank()) {
             errors.add(ErrorTemplates.REQUIRED.getTemplate().formatted("Name"));
         }
-        if (name.length() > 255) {
+        if (name != null && name.length() > 255) {
             errors.add(ErrorTemplates.MAX_LENGTH.getTemplate().formatted("Name", 255));
         }
     }
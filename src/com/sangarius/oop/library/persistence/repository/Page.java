@@ -0,0 +1,88 @@
+package com.sangarius.oop.library.persistence.repository;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * One page of the result of a sorted query.
+ *
+ * @param <E> the type of the entities on the page
+ */
+public final class Page<E> {
+
+    private final List<E> content;
+    private final PageRequest request;
+    private final PageRequest next;
+
+    /**
+     * Constructs a new page.
+     *
+     * @param content the entities on the page, in the order of the query
+     * @param request the request the page answers
+     * @param next    the request for the following page, or {@code null} if this is the last page
+     */
+    public Page(List<E> content, PageRequest request, PageRequest next) {
+        this.content = List.copyOf(content);
+        this.request = request;
+        this.next = next;
+    }
+
+    /**
+     * Creates a page from the first entities of a query for the requested page.
+     * Up to one entity more than the page size should be passed, so the page knows whether another one follows.
+     *
+     * @param items   the entities starting the requested page, in the order of the query
+     * @param request the request the page answers
+     * @param sortKey the function giving the sort key of an entity, used for the next page request
+     * @param <E>     the type of the entities on the page
+     * @return the page
+     */
+    public static <E extends Entity> Page<E> of(List<E> items, PageRequest request,
+                                                Function<? super E, ?> sortKey) {
+        if (items.size() <= request.getSize()) {
+            return new Page<>(items, request, null);
+        }
+        List<E> content = items.subList(0, request.getSize());
+        E last = content.get(content.size() - 1);
+        return new Page<>(content, request, request.after(sortKey.apply(last), last));
+    }
+
+    /**
+     * Gets the entities on the page.
+     *
+     * @return a read-only list of the entities, in the order of the query
+     */
+    public List<E> getContent() {
+        return content;
+    }
+
+    /**
+     * Gets the request the page answers.
+     *
+     * @return the page request
+     */
+    public PageRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Checks whether there is a page after this one.
+     *
+     * @return {@code true} if more entities follow, {@code false} otherwise
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Gets the request for the page after this one, resuming right after its last entity.
+     *
+     * @return an {@code Optional} containing the request, or empty if this is the last page
+     */
+    public Optional<PageRequest> nextPageRequest() {
+        return Optional.ofNullable(next);
+    }
+}
@@ -0,0 +1,139 @@
+package com.sangarius.oop.library.persistence.repository;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+
+/**
+ * A request for one page of a sorted query.
+ * <p>
+ * The first page of a query is requested with {@link #of(int, int, Direction)}, any further page either the same
+ * way, by its number, or with {@link Page#nextPageRequest()}. A request for the next page carries the position
+ * of the last entity of the previous page, so the repository can resume right after it instead of skipping the
+ * pages before; this keyset pagination also keeps the pages stable while entities are added or removed.
+ */
+public final class PageRequest {
+
+    /**
+     * The order of a sorted query.
+     */
+    public enum Direction {
+        /**
+         * Smallest sort keys first.
+         */
+        ASCENDING,
+        /**
+         * Greatest sort keys first.
+         */
+        DESCENDING
+    }
+
+    private final int page;
+    private final int size;
+    private final Direction direction;
+    private final Object afterKey;
+    private final Entity after;
+
+    private PageRequest(int page, int size, Direction direction, Object afterKey, Entity after) {
+        if (page < 0) {
+            throw new IllegalArgumentException("The page number must not be negative.");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("The page size must be positive.");
+        }
+        if (direction == null) {
+            throw new IllegalArgumentException("The direction must not be null.");
+        }
+        this.page = page;
+        this.size = size;
+        this.direction = direction;
+        this.afterKey = afterKey;
+        this.after = after;
+    }
+
+    /**
+     * Creates a request for the page with the given number.
+     *
+     * @param page      the zero-based number of the page
+     * @param size      the maximum number of entities on a page
+     * @param direction the order of the query
+     * @return the page request
+     */
+    public static PageRequest of(int page, int size, Direction direction) {
+        return new PageRequest(page, size, direction, null, null);
+    }
+
+    /**
+     * Creates a request for the first page in ascending order.
+     *
+     * @param size the maximum number of entities on a page
+     * @return the page request
+     */
+    public static PageRequest first(int size) {
+        return of(0, size, Direction.ASCENDING);
+    }
+
+    /**
+     * Creates a request for the page following this one, starting right after the given entity.
+     * Repositories call this to build {@link Page#nextPageRequest()}.
+     *
+     * @param key    the sort key of the last entity of this page
+     * @param entity the last entity of this page
+     * @return the request for the next page
+     */
+    public PageRequest after(Object key, Entity entity) {
+        return new PageRequest(page + 1, size, direction, key, entity);
+    }
+
+    /**
+     * Gets the zero-based number of the requested page.
+     *
+     * @return the page number
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * Gets the maximum number of entities on the requested page.
+     *
+     * @return the page size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the order of the query.
+     *
+     * @return the direction
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Checks whether the request resumes after an entity of the previous page.
+     *
+     * @return {@code true} for a keyset request, {@code false} for a request by page number
+     */
+    public boolean isKeyset() {
+        return after != null;
+    }
+
+    /**
+     * Gets the sort key of the entity the requested page starts after.
+     *
+     * @return the sort key, or {@code null} for a request by page number
+     */
+    public Object getAfterKey() {
+        return afterKey;
+    }
+
+    /**
+     * Gets the entity the requested page starts after.
+     *
+     * @return the last entity of the previous page, or {@code null} for a request by page number
+     */
+    public Entity getAfter() {
+        return after;
+    }
+}
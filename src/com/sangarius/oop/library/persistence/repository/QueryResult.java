@@ -0,0 +1,125 @@
+package com.sangarius.oop.library.persistence.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A lazy, read-only result of a repository query.
+ * Nothing is copied when the result is created: every operation runs the query against the repository as it is at
+ * that moment, and stops as soon as its answer is known. Use {@link #toSet()} to take a snapshot of the result.
+ *
+ * @param <E> the type of the entities in the result
+ */
+@FunctionalInterface
+public interface QueryResult<E> extends Iterable<E> {
+
+    /**
+     * Creates a result running the given stream source on every operation.
+     *
+     * @param source the supplier of a new stream of the result
+     * @param <E>    the type of the entities in the result
+     * @return the query result
+     */
+    static <E> QueryResult<E> of(Supplier<Stream<E>> source) {
+        return source::get;
+    }
+
+    /**
+     * Creates a result backed by a read-only view of a collection, looked up again on every operation.
+     * Counting the result takes the size of the view instead of iterating it.
+     *
+     * @param view the supplier of the current view, which must not be modified through the result
+     * @param <E>  the type of the entities in the result
+     * @return the query result
+     */
+    static <E> QueryResult<E> ofView(Supplier<? extends Collection<E>> view) {
+        return new QueryResult<>() {
+            @Override
+            public Stream<E> stream() {
+                return view.get().stream();
+            }
+
+            @Override
+            public Iterator<E> iterator() {
+                return Collections.unmodifiableCollection(view.get()).iterator();
+            }
+
+            @Override
+            public long count() {
+                return view.get().size();
+            }
+        };
+    }
+
+    /**
+     * Opens a new stream over the result.
+     *
+     * @return a stream of the entities in the result
+     */
+    Stream<E> stream();
+
+    /**
+     * Iterates over the result without copying it.
+     *
+     * @return an iterator over the entities in the result, which does not support removal
+     */
+    @Override
+    default Iterator<E> iterator() {
+        return stream().iterator();
+    }
+
+    /**
+     * Counts the entities in the result.
+     *
+     * @return the number of entities in the result
+     */
+    default long count() {
+        return stream().count();
+    }
+
+    /**
+     * Checks whether any entity in the result matches the predicate, stopping at the first match.
+     *
+     * @param predicate the predicate to test the entities against
+     * @return {@code true} if an entity matches, {@code false} otherwise
+     */
+    default boolean anyMatch(Predicate<? super E> predicate) {
+        return stream().anyMatch(predicate);
+    }
+
+    /**
+     * Gets any entity in the result.
+     *
+     * @return an {@code Optional} containing an entity, or empty if the result is empty
+     */
+    default Optional<E> findFirst() {
+        return stream().findFirst();
+    }
+
+    /**
+     * Gets at most the given number of entities from the result, without visiting the rest.
+     *
+     * @param limit the maximum number of entities to return
+     * @return a read-only list of at most {@code limit} entities
+     */
+    default List<E> first(int limit) {
+        return stream().limit(limit).toList();
+    }
+
+    /**
+     * Copies the result into a new set.
+     *
+     * @return a modifiable set of the entities in the result
+     */
+    default Set<E> toSet() {
+        return stream().collect(Collectors.toSet());
+    }
+}
@@ -2,9 +2,12 @@ package com.sangarius.oop.library.persistence.repository;
 
 import com.sangarius.oop.library.persistence.entity.Entity;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -37,6 +40,32 @@ public interface Repository<E extends Entity> {
      */
     Set<E> findAll(Predicate<E> filter);
 
+    /**
+     * Queries all entities managed by the repository without copying them.
+     *
+     * @return a lazy, read-only result of all entities
+     */
+    QueryResult<E> query();
+
+    /**
+     * Queries the entities that match the given filter predicate without collecting them.
+     * The filter is applied lazily, so counting, matching or taking the first results stops as early as possible.
+     *
+     * @param filter the predicate used to filter entities
+     * @return a lazy, read-only result of the entities that match the filter predicate
+     */
+    QueryResult<E> query(Predicate<E> filter);
+
+    /**
+     * Retrieves one page of all entities sorted by the given order, ties broken by ID.
+     * The same order must be used for all pages of a query.
+     *
+     * @param order   the order of the entities
+     * @param request the requested page
+     * @return the page of entities
+     */
+    Page<E> findPage(Comparator<? super E> order, PageRequest request);
+
     /**
      * Adds a new entity to the repository.
      *
@@ -45,6 +74,25 @@ public interface Repository<E extends Entity> {
      */
     E add(E entity);
 
+    /**
+     * Adds a batch of entities to the repository, replacing any entities with the same IDs.
+     *
+     * @param entities the entities to add
+     */
+    void addAll(Collection<? extends E> entities);
+
+    /**
+     * Changes the stored entity with the given ID in place, so every entity referencing it sees the change, and
+     * updates the indexes of the repository.
+     * The change runs while other updates of the repository are held back; queries running meanwhile may see the
+     * entity before, during or after the change.
+     *
+     * @param id     the unique identifier of the entity to change
+     * @param change the change to apply to the entity
+     * @return an {@code Optional} containing the changed entity, or empty if there is no entity with the ID
+     */
+    Optional<E> update(UUID id, Consumer<? super E> change);
+
     /**
      * Removes the specified entity from the repository.
      *
@@ -52,4 +100,20 @@ public interface Repository<E extends Entity> {
      * @return {@code true} if the entity was successfully removed, {@code false} otherwise
      */
     boolean remove(E entity);
-}
\ No newline at end of file
+
+    /**
+     * Removes a batch of entities from the repository.
+     *
+     * @param entities the entities to remove
+     * @return the number of entities removed
+     */
+    int removeAll(Collection<? extends E> entities);
+
+    /**
+     * Gets the number of changes made to the repository so far.
+     * Callers caching query results can compare counts to tell whether their results are still current.
+     *
+     * @return the modification count, which never decreases
+     */
+    long getModificationCount();
+}
@@ -29,6 +29,11 @@ public abstract class RepositoryFactory {
      */
     public static final int POSTGRESQL = 3;
 
+    /**
+     * Represents the binary snapshot repository type.
+     */
+    public static final int BINARY = 4;
+
     /**
      * Gets a repository factory instance based on the specified type.
      *
@@ -39,6 +44,7 @@ public abstract class RepositoryFactory {
     public static RepositoryFactory getRepositoryFactory(int whichFactory) {
         return switch (whichFactory) {
             case JSON -> JsonRepositoryFactory.getInstance();
+            case BINARY -> JsonRepositoryFactory.getBinaryInstance();
             case XML -> throw new NotImplementedException("Working with XML files is not implemented.");
             case POSTGRESQL -> throw new NotImplementedException(
                 "Working with PostgreSQL databases is not implemented.");
@@ -93,4 +99,11 @@ public abstract class RepositoryFactory {
      * Commits any pending changes to the repositories.
      */
     public abstract void commit();
+
+    /**
+     * Begins a transaction buffering changes to the repositories until it is committed.
+     *
+     * @return The new transaction.
+     */
+    public abstract Transaction begin();
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.sangarius.oop.library.persistence.repository;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+
+import java.util.Collection;
+
+/**
+ * A unit of work spanning the repositories of one {@link RepositoryFactory}.
+ * Additions and removals are buffered until {@link #commit()}, which validates them, applies them to all
+ * affected repositories in one batch and saves those repositories once. Until then, the repositories are unchanged.
+ * Closing a transaction that was not committed rolls it back.
+ */
+public interface Transaction extends AutoCloseable {
+
+    /**
+     * Buffers the addition of an entity, replacing any entity with the same ID on commit.
+     *
+     * @param repository the repository to add the entity to
+     * @param entity     the entity to add
+     * @param <E>        the type of the entity
+     */
+    <E extends Entity> void add(Repository<E> repository, E entity);
+
+    /**
+     * Buffers the addition of a batch of entities, replacing any entities with the same IDs on commit.
+     * On commit, the batch is added to the repository in one step.
+     *
+     * @param repository the repository to add the entities to
+     * @param entities   the entities to add
+     * @param <E>        the type of the entities
+     */
+    default <E extends Entity> void addAll(Repository<E> repository, Collection<? extends E> entities) {
+        entities.forEach(entity -> add(repository, entity));
+    }
+
+    /**
+     * Buffers the removal of an entity.
+     *
+     * @param repository the repository to remove the entity from
+     * @param entity     the entity to remove
+     * @param <E>        the type of the entity
+     */
+    <E extends Entity> void remove(Repository<E> repository, E entity);
+
+    /**
+     * Validates the buffered changes, applies them to the repositories and saves the repositories they change.
+     * If validation or saving fails, the repositories are left as they were before the transaction and the
+     * transaction stays open with its buffered changes, so it can be corrected and committed again, or rolled
+     * back. Whether the saved data can be left partly changed depends on the factory.
+     */
+    void commit();
+
+    /**
+     * Discards the buffered changes.
+     */
+    void rollback();
+
+    /**
+     * Rolls the transaction back unless it was committed.
+     */
+    @Override
+    void close();
+}
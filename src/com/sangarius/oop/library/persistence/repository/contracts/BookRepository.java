@@ -1,8 +1,12 @@
 package com.sangarius.oop.library.persistence.repository.contracts;
 
 import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.repository.Page;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.Repository;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -32,4 +36,57 @@ public interface BookRepository extends Repository<Book> {
      * @return a set of all available books
      */
     Set<Book> findAllAvailable();
+
+    /**
+     * Queries books belonging to a specific category without copying them.
+     *
+     * @param categoryId the ID of the category to search for
+     * @return a lazy result of books belonging to the specified category
+     */
+    QueryResult<Book> queryByCategory(String categoryId);
+
+    /**
+     * Queries books written by a specific author without copying them.
+     *
+     * @param authorId the ID of the author to search for
+     * @return a lazy result of books written by the specified author
+     */
+    QueryResult<Book> queryByAuthor(String authorId);
+
+    /**
+     * Queries available books, filtering them lazily.
+     *
+     * @return a lazy result of available books
+     */
+    QueryResult<Book> queryAvailable();
+
+    /**
+     * Retrieves one page of books ordered by title, ties broken by ID.
+     * Books without a title are not listed.
+     *
+     * @param request the requested page
+     * @return a page of books in the requested order of titles
+     */
+    Page<Book> findPageByTitle(PageRequest request);
+
+    /**
+     * Searches books by the words of their title, author and category name, ignoring case and diacritics.
+     * A book matches if, for every word of the query, it has a word starting with it, so the query can be typed
+     * incrementally; books with exact and rarer matching words rank first.
+     *
+     * @param query the words to search for
+     * @param limit the maximum number of books to return
+     * @return the matching books, best match first
+     */
+    List<Book> search(String query, int limit);
+
+    /**
+     * Searches books by title or author, tolerating typos and misspellings.
+     * Books are ranked by how many three-character sequences of the query their title or author shares.
+     *
+     * @param query the title or author to search for, possibly misspelled
+     * @param limit the maximum number of books to return
+     * @return the similar books, most similar first
+     */
+    List<Book> fuzzySearch(String query, int limit);
 }
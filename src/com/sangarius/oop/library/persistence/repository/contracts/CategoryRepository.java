@@ -1,6 +1,7 @@
 package com.sangarius.oop.library.persistence.repository.contracts;
 
 import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.Repository;
 
 import java.util.Set;
@@ -17,4 +18,12 @@ public interface CategoryRepository extends Repository<Category> {
      * @return a set of categories with the specified name
      */
     Set<Category> findAllByName(String categoryName);
+
+    /**
+     * Queries categories by name without copying them.
+     *
+     * @param categoryName the name of the category to search for
+     * @return a lazy result of categories with the specified name
+     */
+    QueryResult<Category> queryByName(String categoryName);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.sangarius.oop.library.persistence.repository.contracts;
 
 import com.sangarius.oop.library.persistence.entity.impl.Library;
 
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.Repository;
 import java.util.Set;
 
@@ -32,4 +33,19 @@ public interface LibraryRepository extends Repository<Library> {
      * @return The library with the specified email, or null if not found.
      */
     Library findByEmail(String email);
+
+    /**
+     * Queries libraries with loans, filtering them lazily.
+     *
+     * @return A lazy result of libraries with loans.
+     */
+    QueryResult<Library> queryByLoans();
+
+    /**
+     * Queries libraries by address without copying them.
+     *
+     * @param address The address to search for.
+     * @return A lazy result of libraries with the specified address.
+     */
+    QueryResult<Library> queryByAddress(String address);
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ package com.sangarius.oop.library.persistence.repository.contracts;
 import com.sangarius.oop.library.persistence.entity.impl.Book;
 import com.sangarius.oop.library.persistence.entity.impl.Loan;
 import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.repository.Page;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.Repository;
 
 import java.time.LocalDate;
@@ -44,4 +47,97 @@ public interface LoanRepository extends Repository<Loan> {
      * @return A set of loans with the specified due date.
      */
     Set<Loan> findAllByDueDate(LocalDate dueDate);
+
+    /**
+     * Finds loans made within a date range, both bounds included.
+     *
+     * @param from The first loan date of the range.
+     * @param to   The last loan date of the range.
+     * @return A set of loans made within the specified range.
+     */
+    Set<Loan> findAllByLoanDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Finds loans due within a date range, both bounds included.
+     *
+     * @param from The first due date of the range.
+     * @param to   The last due date of the range.
+     * @return A set of loans due within the specified range.
+     */
+    Set<Loan> findAllByDueDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Finds loans that are overdue as of the given date, i.e. whose due date is before it.
+     *
+     * @param date The date to check the due dates against.
+     * @return A set of loans overdue as of the specified date.
+     */
+    Set<Loan> findAllOverdueAsOf(LocalDate date);
+
+    /**
+     * Queries loans by the borrower without copying them.
+     *
+     * @param borrower The borrower.
+     * @return A lazy result of loans associated with the specified borrower.
+     */
+    QueryResult<Loan> queryByBorrower(User borrower);
+
+    /**
+     * Queries loans by the book without copying them.
+     *
+     * @param book The book.
+     * @return A lazy result of loans associated with the specified book.
+     */
+    QueryResult<Loan> queryByBook(Book book);
+
+    /**
+     * Queries loans by the loan date without copying them.
+     *
+     * @param loanDate The date when the loans were made.
+     * @return A lazy result of loans made on the specified date.
+     */
+    QueryResult<Loan> queryByLoanDate(LocalDate loanDate);
+
+    /**
+     * Queries loans by the due date without copying them.
+     *
+     * @param dueDate The due date for returning the books.
+     * @return A lazy result of loans with the specified due date.
+     */
+    QueryResult<Loan> queryByDueDate(LocalDate dueDate);
+
+    /**
+     * Queries loans made within a date range, both bounds included, in ascending loan date order.
+     *
+     * @param from The first loan date of the range.
+     * @param to   The last loan date of the range.
+     * @return A lazy result of loans made within the specified range.
+     */
+    QueryResult<Loan> queryByLoanDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Queries loans due within a date range, both bounds included, in ascending due date order.
+     *
+     * @param from The first due date of the range.
+     * @param to   The last due date of the range.
+     * @return A lazy result of loans due within the specified range.
+     */
+    QueryResult<Loan> queryByDueDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Queries loans that are overdue as of the given date, in ascending due date order.
+     *
+     * @param date The date to check the due dates against.
+     * @return A lazy result of loans overdue as of the specified date.
+     */
+    QueryResult<Loan> queryOverdueAsOf(LocalDate date);
+
+    /**
+     * Retrieves one page of loans ordered by loan date, ties broken by ID.
+     * Loans without a loan date are not listed.
+     *
+     * @param request The requested page.
+     * @return A page of loans in the requested order of loan dates.
+     */
+    Page<Loan> findPageByLoanDate(PageRequest request);
 }
\ No newline at end of file
@@ -3,8 +3,12 @@ package com.sangarius.oop.library.persistence.repository.contracts;
 import com.sangarius.oop.library.persistence.entity.impl.Book;
 import com.sangarius.oop.library.persistence.entity.impl.Review;
 import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.repository.Page;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.Repository;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -35,4 +39,48 @@ public interface ReviewRepository extends Repository<Review> {
      * @return A set of reviews with the specified rating.
      */
     Set<Review> findAllByRating(int rating);
+
+    /**
+     * Queries reviews of a book without copying them.
+     *
+     * @param book The book to search for.
+     * @return A lazy result of reviews of the specified book.
+     */
+    QueryResult<Review> queryByBook(Book book);
+
+    /**
+     * Queries reviews written by a user without copying them.
+     *
+     * @param reviewer The reviewer to search for.
+     * @return A lazy result of reviews written by the specified user.
+     */
+    QueryResult<Review> queryByReviewer(User reviewer);
+
+    /**
+     * Queries reviews with a rating without copying them.
+     *
+     * @param rating The rating to search for.
+     * @return A lazy result of reviews with the specified rating.
+     */
+    QueryResult<Review> queryByRating(int rating);
+
+    /**
+     * Retrieves one page of reviews ordered by rating, ties broken by ID.
+     * Use {@link PageRequest.Direction#DESCENDING} to list the top-rated reviews first.
+     *
+     * @param request The requested page.
+     * @return A page of reviews in the requested order of ratings.
+     */
+    Page<Review> findPageByRating(PageRequest request);
+
+    /**
+     * Searches reviews by the words of their text, ignoring case and diacritics.
+     * A review matches if, for every word of the query, it has a word starting with it; reviews with exact and
+     * rarer matching words rank first.
+     *
+     * @param query The words to search for.
+     * @param limit The maximum number of reviews to return.
+     * @return The matching reviews, best match first.
+     */
+    List<Review> search(String query, int limit);
 }
\ No newline at end of file
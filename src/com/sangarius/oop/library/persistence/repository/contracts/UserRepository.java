@@ -1,6 +1,7 @@
 package com.sangarius.oop.library.persistence.repository.contracts;
 
 import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.Repository;
 
 import java.util.Optional;
@@ -26,4 +27,12 @@ public interface UserRepository extends Repository<User> {
      * @return A set of users with the specified name.
      */
     Set<User> findAllByName(String name);
+
+    /**
+     * Queries users by name without copying them.
+     *
+     * @param name The name to search for.
+     * @return A lazy result of users with the specified name.
+     */
+    QueryResult<User> queryByName(String name);
 }
\ No newline at end of file
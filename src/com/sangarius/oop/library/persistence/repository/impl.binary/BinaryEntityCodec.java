@@ -0,0 +1,318 @@
+package com.sangarius.oop.library.persistence.repository.impl.binary;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.EntityRestorer;
+import com.sangarius.oop.library.persistence.entity.impl.Library;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encodes entities as binary records of schema version {@value BinarySnapshotFormat#SCHEMA_VERSION}.
+ * Fields are written in declaration order; nullable values and associated entities are prefixed with a presence flag.
+ * Entities are restored through {@link EntityRestorer} without validation, like the entities of the JSON files.
+ */
+final class BinaryEntityCodec {
+
+    private static final byte ABSENT = 0;
+    private static final byte PRESENT = 1;
+    private static final byte ENCLOSING_BOOK = 2;
+
+    private BinaryEntityCodec() {
+    }
+
+    /**
+     * Writes an entity record.
+     *
+     * @param out    The output to write to.
+     * @param entity The entity to write.
+     * @throws IOException Exception during input/output operations.
+     */
+    static void write(DataOutput out, Entity entity) throws IOException {
+        if (entity instanceof Book book) {
+            writeBook(out, book);
+        } else if (entity instanceof Category category) {
+            writeCategory(out, category);
+        } else if (entity instanceof Library library) {
+            writeLibrary(out, library);
+        } else if (entity instanceof Loan loan) {
+            writeLoan(out, loan);
+        } else if (entity instanceof Review review) {
+            writeReview(out, review, null);
+        } else if (entity instanceof User user) {
+            writeUser(out, user);
+        } else {
+            throw new IllegalArgumentException("Unsupported entity type " + entity.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads an entity record.
+     * Lengths and sizes are checked against the bytes left in the record before anything is allocated for them.
+     *
+     * @param in         The record to read from.
+     * @param entityType The class of the entity.
+     * @param <E>        The type of the entity.
+     * @return The read entity.
+     * @throws StreamCorruptedException If a length or size does not fit in the record.
+     * @throws IOException              Exception during input/output operations.
+     */
+    static <E extends Entity> E read(DataInputStream in, Class<E> entityType) throws IOException {
+        Entity entity;
+        if (entityType == Book.class) {
+            entity = readBook(in);
+        } else if (entityType == Category.class) {
+            entity = readCategory(in);
+        } else if (entityType == Library.class) {
+            entity = readLibrary(in);
+        } else if (entityType == Loan.class) {
+            entity = readLoan(in);
+        } else if (entityType == Review.class) {
+            entity = readReview(in, null);
+        } else if (entityType == User.class) {
+            entity = readUser(in);
+        } else {
+            throw new IllegalArgumentException("Unsupported entity type " + entityType.getName());
+        }
+        return entityType.cast(entity);
+    }
+
+    private static void writeBook(DataOutput out, Book book) throws IOException {
+        writeUuid(out, book.getId());
+        writeString(out, book.getTitle());
+        writeString(out, book.getAuthor());
+        if (writePresence(out, book.getCategory())) {
+            writeCategory(out, book.getCategory());
+        }
+        out.writeInt(book.getYearPublished());
+        writeList(out, book.getReviews(), review -> writeReview(out, review, book));
+    }
+
+    private static Book readBook(DataInputStream in) throws IOException {
+        UUID id = readUuid(in);
+        String title = readString(in);
+        String author = readString(in);
+        Category category = readPresence(in) ? readCategory(in) : null;
+        Book book = EntityRestorer.book(id, title, author, category, in.readInt());
+        readList(in, () -> book.addReview(readReview(in, book)));
+        return book;
+    }
+
+    private static void writeCategory(DataOutput out, Category category) throws IOException {
+        writeUuid(out, category.getId());
+        writeString(out, category.getName());
+    }
+
+    private static Category readCategory(DataInputStream in) throws IOException {
+        return EntityRestorer.category(readUuid(in), readString(in));
+    }
+
+    private static void writeLibrary(DataOutput out, Library library) throws IOException {
+        writeUuid(out, library.getId());
+        writeString(out, library.getName());
+        writeString(out, library.getAddress());
+        writeString(out, library.getEmail());
+        writeList(out, library.getBooks(), book -> writeBook(out, book));
+        writeList(out, library.getUsers(), user -> writeUser(out, user));
+        writeList(out, library.getLoans(), loan -> writeLoan(out, loan));
+    }
+
+    private static Library readLibrary(DataInputStream in) throws IOException {
+        Library library = EntityRestorer.library(readUuid(in), readString(in), readString(in), readString(in));
+        readList(in, () -> library.getBooks().add(readBook(in)));
+        readList(in, () -> library.getUsers().add(readUser(in)));
+        readList(in, () -> library.getLoans().add(readLoan(in)));
+        return library;
+    }
+
+    private static void writeLoan(DataOutput out, Loan loan) throws IOException {
+        writeUuid(out, loan.getId());
+        writeDate(out, loan.getLoanDate());
+        writeDate(out, loan.getDueDate());
+        if (writePresence(out, loan.getBorrower())) {
+            writeUser(out, loan.getBorrower());
+        }
+        if (writePresence(out, loan.getBorrowedBook())) {
+            writeBook(out, loan.getBorrowedBook());
+        }
+    }
+
+    private static Loan readLoan(DataInputStream in) throws IOException {
+        UUID id = readUuid(in);
+        LocalDate loanDate = readDate(in);
+        LocalDate dueDate = readDate(in);
+        User borrower = readPresence(in) ? readUser(in) : null;
+        Book borrowedBook = readPresence(in) ? readBook(in) : null;
+        return EntityRestorer.loan(id, loanDate, dueDate, borrower, borrowedBook);
+    }
+
+    /**
+     * Writes a review. A review listed by the book it belongs to does not repeat that book.
+     *
+     * @param out           The output to write to.
+     * @param review        The review to write.
+     * @param enclosingBook The book listing the review, or {@code null} for a top-level review.
+     * @throws IOException Exception during input/output operations.
+     */
+    private static void writeReview(DataOutput out, Review review, Book enclosingBook) throws IOException {
+        writeUuid(out, review.getId());
+        writeString(out, review.getReviewText());
+        out.writeInt(review.getRating());
+        if (writePresence(out, review.getReviewer())) {
+            writeUser(out, review.getReviewer());
+        }
+        Book book = review.getBook();
+        if (book != null && book.equals(enclosingBook)) {
+            out.writeByte(ENCLOSING_BOOK);
+        } else if (writePresence(out, book)) {
+            writeBook(out, book);
+        }
+    }
+
+    /**
+     * Reads a review. A review listed by a book without a book of its own belongs to that book.
+     *
+     * @param in            The input to read from.
+     * @param enclosingBook The book listing the review, or {@code null} for a top-level review.
+     * @return The read review.
+     * @throws IOException Exception during input/output operations.
+     */
+    private static Review readReview(DataInputStream in, Book enclosingBook) throws IOException {
+        UUID id = readUuid(in);
+        String reviewText = readString(in);
+        int rating = in.readInt();
+        User reviewer = readPresence(in) ? readUser(in) : null;
+        Book book = in.readByte() == PRESENT ? readBook(in) : enclosingBook;
+        return EntityRestorer.review(id, reviewText, rating, reviewer, book);
+    }
+
+    private static void writeUser(DataOutput out, User user) throws IOException {
+        writeUuid(out, user.getId());
+        writeString(out, user.getEmail());
+        writeString(out, user.getName());
+    }
+
+    private static User readUser(DataInputStream in) throws IOException {
+        return EntityRestorer.user(readUuid(in), readString(in), readString(in));
+    }
+
+    /**
+     * Writes the size of a list followed by its elements, or {@code -1} for a missing list.
+     */
+    private static <T> void writeList(DataOutput out, List<T> list, ElementWriter<T> writer) throws IOException {
+        if (list == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(list.size());
+        for (T element : list) {
+            writer.write(element);
+        }
+    }
+
+    /**
+     * Reads the elements of a list written by {@link #writeList}. A missing list is read as an empty one.
+     */
+    private static void readList(DataInputStream in, ElementReader reader) throws IOException {
+        // Every element takes at least one byte
+        int size = readLength(in, "list size");
+        for (int i = 0; i < size; i++) {
+            reader.read();
+        }
+    }
+
+    private static boolean writePresence(DataOutput out, Object value) throws IOException {
+        out.writeByte(value == null ? ABSENT : PRESENT);
+        return value != null;
+    }
+
+    private static boolean readPresence(DataInputStream in) throws IOException {
+        return in.readByte() == PRESENT;
+    }
+
+    private static void writeUuid(DataOutput out, UUID id) throws IOException {
+        if (!writePresence(out, id)) {
+            return;
+        }
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        if (!readPresence(in)) {
+            return null;
+        }
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeDate(DataOutput out, LocalDate date) throws IOException {
+        if (writePresence(out, date)) {
+            out.writeLong(date.toEpochDay());
+        }
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        return readPresence(in) ? LocalDate.ofEpochDay(in.readLong()) : null;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readLength(in, "string length");
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a length or size written by {@link #writeString} or {@link #writeList}.
+     *
+     * @param in   The record to read from.
+     * @param name The name of the value, for the error message.
+     * @return The read value, {@code -1} for a missing string or list.
+     * @throws StreamCorruptedException If the value is negative, other than {@code -1}, or exceeds the bytes left.
+     * @throws IOException              Exception during input/output operations.
+     */
+    private static int readLength(DataInputStream in, String name) throws IOException {
+        int length = in.readInt();
+        if (length < -1 || length > in.available()) {
+            throw new StreamCorruptedException("invalid %s %d with %d bytes left in the record"
+                .formatted(name, length, in.available()));
+        }
+        return length;
+    }
+
+    @FunctionalInterface
+    private interface ElementWriter<T> {
+
+        void write(T element) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ElementReader {
+
+        void read() throws IOException;
+    }
+}
@@ -0,0 +1,180 @@
+package com.sangarius.oop.library.persistence.repository.impl.binary;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+import com.sangarius.oop.library.persistence.repository.impl.json.SnapshotFormat;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Compact binary snapshot format.
+ * A file starts with a header of the magic number, the schema version, the entity type name and the record count,
+ * followed by the records, each prefixed with its length in bytes.
+ * Records are encoded by {@link BinaryEntityCodec}: UUIDs as two longs and dates as epoch days.
+ * Counts and lengths are checked against the bytes left in the file or record before they are allocated, so a
+ * corrupted file is rejected as malformed instead of exhausting memory.
+ */
+public class BinarySnapshotFormat implements SnapshotFormat {
+
+    /**
+     * Magic number identifying the format, the ASCII characters {@code LMSB}.
+     */
+    public static final int MAGIC = 0x4C4D5342;
+
+    /**
+     * Version of the record schema written by this format.
+     */
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final String JSON_EXTENSION = ".json";
+    private static final String BINARY_EXTENSION = ".bin";
+
+    @Override
+    public Path resolve(Path jsonPath) {
+        String fileName = jsonPath.getFileName().toString();
+        if (fileName.endsWith(JSON_EXTENSION)) {
+            fileName = fileName.substring(0, fileName.length() - JSON_EXTENSION.length());
+        }
+        return jsonPath.resolveSibling(fileName + BINARY_EXTENSION);
+    }
+
+    @Override
+    public <E extends Entity> Set<E> read(Path path, Class<E> entityType) throws IOException {
+        long size = Files.size(path);
+        if (size == 0) {
+            return new HashSet<>();
+        }
+        CountingInputStream counting = new CountingInputStream(new BufferedInputStream(Files.newInputStream(path)));
+        try (DataInputStream in = new DataInputStream(counting)) {
+            readHeader(in, path, entityType);
+            int count = in.readInt();
+            // Every record takes at least the four bytes of its length
+            if (count < 0 || count > (size - counting.count()) / Integer.BYTES) {
+                throw malformed(path, "invalid record count %d".formatted(count));
+            }
+            Set<E> loaded = new HashSet<>(Math.max(16, (int) (count / 0.75f) + 1));
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                if (length < 0 || length > size - counting.count()) {
+                    throw malformed(path, "record %d has an invalid length %d".formatted(i, length));
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                ByteArrayInputStream recordStream = new ByteArrayInputStream(record);
+                loaded.add(BinaryEntityCodec.read(new DataInputStream(recordStream), entityType));
+                if (recordStream.available() != 0) {
+                    throw malformed(path, "record %d is longer than its content".formatted(i));
+                }
+            }
+            if (in.read() != -1) {
+                throw malformed(path, "unexpected content after the last record");
+            }
+            return loaded;
+        } catch (EOFException e) {
+            throw malformed(path, "the file is truncated");
+        } catch (StreamCorruptedException | DateTimeException e) {
+            throw malformed(path, e.getMessage());
+        }
+    }
+
+    @Override
+    public <E extends Entity> void write(OutputStream out, Set<E> entities, Class<E> entityType) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(SCHEMA_VERSION);
+        data.writeUTF(entityType.getSimpleName());
+        data.writeInt(entities.size());
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream recordData = new DataOutputStream(record);
+        for (E entity : entities) {
+            record.reset();
+            BinaryEntityCodec.write(recordData, entity);
+            data.writeInt(record.size());
+            record.writeTo(data);
+        }
+        data.flush();
+    }
+
+    private static void readHeader(DataInputStream in, Path path, Class<?> entityType) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw malformed(path, "not a binary snapshot file");
+        }
+        int version = in.readInt();
+        if (version != SCHEMA_VERSION) {
+            throw malformed(path, "unsupported schema version %d".formatted(version));
+        }
+        String typeName = in.readUTF();
+        if (!typeName.equals(entityType.getSimpleName())) {
+            throw malformed(path, "the file holds %s records instead of %s"
+                .formatted(typeName, entityType.getSimpleName()));
+        }
+    }
+
+    /**
+     * Input stream counting the bytes read from it, so lengths read from a file are checked against the bytes
+     * left in it before anything is allocated for them.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    private static JsonFileIOException malformed(Path path, String details) {
+        return new JsonFileIOException("The file %s is a malformed binary snapshot. Details: %s"
+            .formatted(path.getFileName(), details));
+    }
+}
@@ -0,0 +1,63 @@
+package com.sangarius.oop.library.persistence.repository.impl.binary;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.repository.Repository;
+import com.sangarius.oop.library.persistence.repository.RepositoryFactory;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Converts the repository files between the JSON and the binary snapshot formats.
+ */
+public final class SnapshotConverter {
+
+    private SnapshotConverter() {
+    }
+
+    /**
+     * Converts the repository files in the data directory.
+     *
+     * @param args {@code to-binary} to convert the JSON files to binary snapshots,
+     *             or {@code to-json} to convert the binary snapshots back to JSON.
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: SnapshotConverter to-binary|to-json");
+        }
+        switch (args[0]) {
+            case "to-binary" -> convert(RepositoryFactory.JSON, RepositoryFactory.BINARY);
+            case "to-json" -> convert(RepositoryFactory.BINARY, RepositoryFactory.JSON);
+            default -> throw new IllegalArgumentException("Unknown conversion " + args[0]);
+        }
+    }
+
+    /**
+     * Replaces the content of every repository of the target factory with the content of the source factory
+     * and commits the target.
+     *
+     * @param sourceType The type of the factory to read from.
+     * @param targetType The type of the factory to write to.
+     */
+    public static void convert(int sourceType, int targetType) {
+        RepositoryFactory source = RepositoryFactory.getRepositoryFactory(sourceType);
+        RepositoryFactory target = RepositoryFactory.getRepositoryFactory(targetType);
+
+        copy(source.getBookRepository(), target.getBookRepository());
+        copy(source.getCategoryRepository(), target.getCategoryRepository());
+        copy(source.getLibraryRepository(), target.getLibraryRepository());
+        copy(source.getLoanRepository(), target.getLoanRepository());
+        copy(source.getReviewRepository(), target.getReviewRepository());
+        copy(source.getUserRepository(), target.getUserRepository());
+
+        target.commit();
+    }
+
+    private static <E extends Entity> void copy(Repository<E> source, Repository<E> target) {
+        Set<E> sourceEntities = source.findAll();
+        for (E stale : new HashSet<>(target.findAll(entity -> !sourceEntities.contains(entity)))) {
+            target.remove(stale);
+        }
+        sourceEntities.forEach(target::add);
+    }
+}
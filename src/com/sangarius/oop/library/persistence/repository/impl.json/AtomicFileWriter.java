@@ -0,0 +1,174 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.UUID;
+
+/**
+ * Utility for replacing files atomically.
+ * Content is written to a sibling temporary file, forced to disk and then moved over the target,
+ * so a crash in the middle of a write never leaves a truncated target file behind.
+ * The temporary file takes the permissions and, where allowed, the owner of the target, so replacing a file keeps
+ * its access rights; the directory is forced to disk after the move, so the replacement survives a crash too.
+ * Several files can be staged first and replaced once all of them are written; each replacement is atomic, but
+ * a crash between two of them leaves only the first one replaced.
+ */
+public final class AtomicFileWriter {
+
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Atomically replaces the content of the target file.
+     *
+     * @param target  The file to replace.
+     * @param content The callback writing the new content. It must flush, but not close, the stream.
+     * @throws IOException Exception during input/output operations.
+     */
+    public static void write(Path target, Content content) throws IOException {
+        StagedFile staged = stage(target, content);
+        try {
+            staged.replaceTarget();
+        } finally {
+            staged.discard();
+        }
+    }
+
+    /**
+     * Writes the new content of the target file to its temporary file without replacing the target yet, so
+     * several files can be written before any of them is replaced.
+     *
+     * @param target  The file to replace.
+     * @param content The callback writing the new content. It must flush, but not close, the stream.
+     * @return The written temporary file.
+     * @throws IOException Exception during input/output operations; the temporary file is deleted.
+     */
+    public static StagedFile stage(Path target, Content content) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        // Created like any new file rather than with the owner-only permissions of Files.createTempFile
+        Path temp = directory.resolve(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            copyAccess(target, temp);
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            content.writeTo(out);
+            out.flush();
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return new StagedFile(temp, target, directory);
+    }
+
+    /**
+     * Copies the POSIX permissions, group and owner of the target file onto the file replacing it.
+     * Changing the owner or group is usually reserved to privileged users, so failing to do so is ignored.
+     *
+     * @param target The file to replace; nothing is copied if it does not exist.
+     * @param temp   The file replacing it.
+     * @throws IOException Exception during input/output operations.
+     */
+    private static void copyAccess(Path target, Path temp) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+        if (view == null || !Files.exists(target)) {
+            return;
+        }
+        PosixFileAttributes attributes = Files.readAttributes(target, PosixFileAttributes.class);
+        view.setPermissions(attributes.permissions());
+        try {
+            view.setGroup(attributes.group());
+            view.setOwner(attributes.owner());
+        } catch (FileSystemException e) {
+            // Kept as the current user
+        }
+    }
+
+    /**
+     * Forces the entries of a directory to disk, so a file moved into it stays there after a crash.
+     * Platforms that cannot open a directory as a channel, such as Windows, are skipped.
+     *
+     * @param directory The directory to force.
+     * @throws IOException Exception during input/output operations.
+     */
+    static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * New content of a file, written and forced to disk next to the file it replaces.
+     */
+    public static final class StagedFile {
+
+        private final Path temp;
+        private final Path target;
+        private final Path directory;
+
+        private StagedFile(Path temp, Path target, Path directory) {
+            this.temp = temp;
+            this.target = target;
+            this.directory = directory;
+        }
+
+        /**
+         * Atomically replaces the target file with the new content.
+         *
+         * @throws IOException Exception during input/output operations.
+         */
+        public void replaceTarget() throws IOException {
+            move(temp, target);
+            forceDirectory(directory);
+        }
+
+        /**
+         * Deletes the new content if it has not replaced the target file.
+         *
+         * @throws IOException Exception during input/output operations.
+         */
+        public void discard() throws IOException {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Callback producing the content of a file.
+     */
+    @FunctionalInterface
+    public interface Content {
+
+        /**
+         * Writes the content to the given stream.
+         *
+         * @param out The stream to write to.
+         * @throws IOException Exception during input/output operations.
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
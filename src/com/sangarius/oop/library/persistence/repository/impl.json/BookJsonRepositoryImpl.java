@@ -1,26 +1,53 @@
 package com.sangarius.oop.library.persistence.repository.impl.json;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.repository.Page;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.contracts.BookRepository;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * JSON implementation of the Book repository.
  */
-public class BookJsonRepositoryImpl extends GenericJsonRepository<Book> implements BookRepository {
+public final class BookJsonRepositoryImpl extends GenericJsonRepository<Book> implements BookRepository {
+
+    private final HashIndex<String, Book> categoryIndex;
+    private final HashIndex<String, Book> authorIndex;
+    private final SortedIndex<String, Book> titleIndex;
+    private final TextIndex<Book> textIndex;
+    private final TrigramIndex<Book> trigramIndex;
 
     /**
-     * Constructs a new instance of {@code BookJsonRepositoryImpl}.
+     * Constructs a new instance of {@code BookJsonRepositoryImpl} backed by a JSON file.
      *
      * @param gson The Gson instance for JSON serialization/deserialization.
      */
     public BookJsonRepositoryImpl(Gson gson) {
-        super(gson, JsonPathFactory.BOOKS.getPath(), TypeToken
-            .getParameterized(Set.class, Book.class)
-            .getType());
+        this(gson, new JsonSnapshotFormat(gson));
+    }
+
+    /**
+     * Constructs a new instance of {@code BookJsonRepositoryImpl} backed by a snapshot file in the given format.
+     *
+     * @param gson   The Gson instance for JSON serialization/deserialization.
+     * @param format The format of the snapshot file.
+     */
+    public BookJsonRepositoryImpl(Gson gson, SnapshotFormat format) {
+        super(gson, format, JsonPathFactory.BOOKS.getPath(), Book.class);
+        this.categoryIndex = createHashIndex(
+            book -> book.getCategory() == null ? null : book.getCategory().getId().toString());
+        this.authorIndex = createHashIndex(Book::getAuthor);
+        this.titleIndex = createSortedIndex(Book::getTitle);
+        this.textIndex = createTextIndex(book -> String.join(" ",
+            Objects.toString(book.getTitle(), ""), Objects.toString(book.getAuthor(), ""),
+            book.getCategory() == null ? "" : Objects.toString(book.getCategory().getName(), "")));
+        this.trigramIndex = createTrigramIndex(List.of(Book::getTitle, Book::getAuthor));
     }
 
     /**
@@ -31,9 +58,7 @@ public class BookJsonRepositoryImpl extends GenericJsonRepository<Book> implemen
      */
     @Override
     public Set<Book> findAllByCategory(String categoryId) {
-        return entities.stream()
-            .filter(book -> categoryId.equals(book.getCategory().getId().toString()))
-            .collect(Collectors.toSet());
+        return categoryIndex.find(categoryId);
     }
 
     /**
@@ -44,9 +69,16 @@ public class BookJsonRepositoryImpl extends GenericJsonRepository<Book> implemen
      */
     @Override
     public Set<Book> findAllByAuthor(String authorId) {
-        return entities.stream()
-            .filter(book -> authorId.equals(book.getAuthor()))
-            .collect(Collectors.toSet());
+        return authorIndex.find(authorId);
+    }
+
+    /**
+     * Re-indexes the books of a category, which are searched by its name, after the category was added again.
+     *
+     * @param category The added category.
+     */
+    void reindexCategory(Category category) {
+        reindex(categoryIndex.find(category.getId().toString()));
     }
 
     /**
@@ -60,4 +92,72 @@ public class BookJsonRepositoryImpl extends GenericJsonRepository<Book> implemen
             .filter(Book::isAvailable)
             .collect(Collectors.toSet());
     }
+
+    /**
+     * Queries books belonging to a specific category without copying them.
+     *
+     * @param categoryId The ID of the category to search for.
+     * @return A lazy result of books belonging to the specified category.
+     */
+    @Override
+    public QueryResult<Book> queryByCategory(String categoryId) {
+        return categoryIndex.query(categoryId);
+    }
+
+    /**
+     * Queries books written by a specific author without copying them.
+     *
+     * @param authorId The ID of the author to search for.
+     * @return A lazy result of books written by the specified author.
+     */
+    @Override
+    public QueryResult<Book> queryByAuthor(String authorId) {
+        return authorIndex.query(authorId);
+    }
+
+    /**
+     * Queries available books, filtering them lazily.
+     *
+     * @return A lazy result of available books.
+     */
+    @Override
+    public QueryResult<Book> queryAvailable() {
+        return query(Book::isAvailable);
+    }
+
+    /**
+     * Retrieves one page of books ordered by title through the sorted title index.
+     *
+     * @param request The requested page.
+     * @return A page of books in the requested order of titles.
+     */
+    @Override
+    public Page<Book> findPageByTitle(PageRequest request) {
+        return titleIndex.page(request);
+    }
+
+    /**
+     * Searches books by the words of their title, author and category name through the full-text index.
+     * A category renamed in place is searched under its new name once it is added to its repository again.
+     *
+     * @param query The words to search for; the last one may be incomplete.
+     * @param limit The maximum number of books to return.
+     * @return The matching books, best match first.
+     */
+    @Override
+    public List<Book> search(String query, int limit) {
+        return textIndex.search(query, limit);
+    }
+
+    /**
+     * Searches books by title or author through the trigram index, tolerating typos.
+     *
+     * @param query The title or author to search for, possibly misspelled.
+     * @param limit The maximum number of books to return.
+     * @return The similar books, most similar first.
+     */
+    @Override
+    public List<Book> fuzzySearch(String query, int limit) {
+        return trigramIndex.search(query, limit);
+    }
 }
\ No newline at end of file
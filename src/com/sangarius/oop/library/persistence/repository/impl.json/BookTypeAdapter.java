@@ -0,0 +1,114 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.EntityRestorer;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.repository.impl.json.ReviewTypeAdapter.ReviewFields;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streaming type adapter of {@link Book}.
+ * The reviews of a book are written without repeating the book and read back as reviews of it.
+ */
+class BookTypeAdapter extends EntityTypeAdapter<Book> {
+
+    private final TypeAdapter<Category> categoryAdapter;
+    private final ReviewTypeAdapter reviewAdapter;
+
+    /**
+     * Constructs a new instance of {@code BookTypeAdapter}.
+     *
+     * @param gson The Gson instance providing the adapters of the associated entities.
+     */
+    BookTypeAdapter(Gson gson) {
+        this.categoryAdapter = gson.getAdapter(Category.class);
+        this.reviewAdapter = new ReviewTypeAdapter(gson);
+    }
+
+    @Override
+    public void write(JsonWriter out, Book book) throws IOException {
+        out.beginObject();
+        writeId(out, book.getId());
+        out.name("title").value(book.getTitle());
+        out.name("author").value(book.getAuthor());
+        out.name("category");
+        categoryAdapter.write(out, book.getCategory());
+        out.name("yearPublished").value(book.getYearPublished());
+        if (book.getReviews() != null) {
+            out.name("reviews").beginArray();
+            for (Review review : book.getReviews()) {
+                reviewAdapter.write(out, review, book);
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Book read(JsonReader in) throws IOException {
+        UUID id = null;
+        String title = null;
+        String author = null;
+        Category category = null;
+        int yearPublished = 0;
+        List<ReviewFields> reviews = List.of();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readId(in);
+                case "title" -> title = readString(in);
+                case "author" -> author = readString(in);
+                case "category" -> category = categoryAdapter.read(in);
+                case "yearPublished" -> yearPublished = readInt(in);
+                case "reviews" -> reviews = readReviews(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        Book book = EntityRestorer.book(id, title, author, category, yearPublished);
+        for (ReviewFields review : reviews) {
+            book.addReview(review.toReview(book));
+        }
+        return book;
+    }
+
+    /**
+     * Reads the fields of the reviews listed by a book.
+     * Most books read are listed by reviews and list none themselves, so no list is allocated for an empty array.
+     *
+     * @param in The reader positioned at the reviews.
+     * @return The fields of the non-null reviews.
+     * @throws IOException Exception during input/output operations.
+     */
+    private List<ReviewFields> readReviews(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return List.of();
+        }
+        List<ReviewFields> reviews = List.of();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            if (reviews.isEmpty()) {
+                reviews = new ArrayList<>(2);
+            }
+            reviews.add(reviewAdapter.readFields(in));
+        }
+        in.endArray();
+        return reviews;
+    }
+}
@@ -0,0 +1,38 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+/**
+ * Strategies for loading the JSON repositories when the factory is created.
+ */
+public enum BootstrapMode {
+
+    /**
+     * Load each file on first access to its repository.
+     */
+    LAZY,
+
+    /**
+     * Load the files one after another on the calling thread.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Load all files at the same time on a bounded thread pool.
+     */
+    PARALLEL;
+
+    /**
+     * Name of the system property used to select the bootstrap mode.
+     */
+    public static final String PROPERTY = "library.bootstrap";
+
+    /**
+     * Get the bootstrap mode configured through the {@value #PROPERTY} system property.
+     *
+     * @return The configured mode, or {@link #LAZY} if the property is not set.
+     * @throws IllegalArgumentException If the property holds an unknown mode.
+     */
+    public static BootstrapMode fromSystemProperty() {
+        String value = System.getProperty(PROPERTY);
+        return value == null ? LAZY : valueOf(value.trim().toUpperCase());
+    }
+}
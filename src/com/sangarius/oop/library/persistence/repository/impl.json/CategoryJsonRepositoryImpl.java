@@ -1,25 +1,37 @@
 package com.sangarius.oop.library.persistence.repository.impl.json;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.contracts.CategoryRepository;
 
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * JSON implementation of the Category repository.
  */
-public class CategoryJsonRepositoryImpl extends GenericJsonRepository<Category> implements CategoryRepository {
+public final class CategoryJsonRepositoryImpl extends GenericJsonRepository<Category> implements CategoryRepository {
+
+    private final HashIndex<String, Category> nameIndex;
 
     /**
-     * Constructs a new instance of {@code CategoryJsonRepositoryImpl}.
+     * Constructs a new instance of {@code CategoryJsonRepositoryImpl} backed by a JSON file.
      *
      * @param gson The Gson instance for JSON serialization/deserialization.
      */
     public CategoryJsonRepositoryImpl(Gson gson) {
-        super(gson, JsonPathFactory.CATEGORIES.getPath(), new TypeToken<Set<Category>>() {}.getType());
+        this(gson, new JsonSnapshotFormat(gson));
+    }
+
+    /**
+     * Constructs a new instance of {@code CategoryJsonRepositoryImpl} backed by a snapshot file in the given format.
+     *
+     * @param gson   The Gson instance for JSON serialization/deserialization.
+     * @param format The format of the snapshot file.
+     */
+    public CategoryJsonRepositoryImpl(Gson gson, SnapshotFormat format) {
+        super(gson, format, JsonPathFactory.CATEGORIES.getPath(), Category.class);
+        this.nameIndex = createHashIndex(Category::getName);
     }
 
     /**
@@ -30,8 +42,17 @@ public class CategoryJsonRepositoryImpl extends GenericJsonRepository<Category>
      */
     @Override
     public Set<Category> findAllByName(String categoryName) {
-        return entities.stream()
-            .filter(category -> categoryName.equals(category.getName()))
-            .collect(Collectors.toSet());
+        return nameIndex.find(categoryName);
+    }
+
+    /**
+     * Queries categories by name without copying them.
+     *
+     * @param categoryName The name of the category to search for.
+     * @return A lazy result of categories with the specified name.
+     */
+    @Override
+    public QueryResult<Category> queryByName(String categoryName) {
+        return nameIndex.query(categoryName);
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.EntityRestorer;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Streaming type adapter of {@link Category}.
+ */
+class CategoryTypeAdapter extends EntityTypeAdapter<Category> {
+
+    @Override
+    public void write(JsonWriter out, Category category) throws IOException {
+        out.beginObject();
+        writeId(out, category.getId());
+        out.name("name").value(category.getName());
+        out.endObject();
+    }
+
+    @Override
+    public Category read(JsonReader in) throws IOException {
+        UUID id = null;
+        String name = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readId(in);
+                case "name" -> name = readString(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return EntityRestorer.category(id, name);
+    }
+}
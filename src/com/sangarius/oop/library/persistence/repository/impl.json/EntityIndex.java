@@ -0,0 +1,173 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Base class for secondary indexes maintained by {@link GenericJsonRepository}.
+ * Groups entities into buckets by a key extracted from each entity.
+ * Backed by a concurrent map, the index can be read while it is updated; updates must not run concurrently.
+ *
+ * @param <K> The type of the index key.
+ * @param <E> The type of entities stored in the index.
+ */
+public abstract class EntityIndex<K, E extends Entity> {
+
+    protected final Map<K, Set<E>> buckets;
+    private final Map<UUID, K> keysById;
+    private final Function<E, K> keyExtractor;
+
+    /**
+     * Constructs a new index backed by the given bucket map.
+     *
+     * @param buckets      The map holding the entities grouped by key.
+     * @param keyExtractor The function extracting the index key from an entity.
+     */
+    protected EntityIndex(Map<K, Set<E>> buckets, Function<E, K> keyExtractor) {
+        this.buckets = buckets;
+        this.keysById = newIdMap(buckets instanceof ConcurrentMap);
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Adds an entity to the index. Entities with a {@code null} key are not indexed.
+     *
+     * @param entity The entity to add.
+     */
+    public void add(E entity) {
+        K key = keyExtractor.apply(entity);
+        if (key == null) {
+            return;
+        }
+        keysById.put(idOf(entity), key);
+        buckets.computeIfAbsent(key, k -> newBucket()).add(entity);
+    }
+
+    /**
+     * Adds a batch of entities to the index, replacing the entries of entities with the same IDs.
+     * The entities must have distinct IDs. They are grouped by key first, so each bucket is looked up once per batch.
+     *
+     * @param entities The entities to add.
+     */
+    public void addAll(Collection<? extends E> entities) {
+        Map<UUID, K> keys = HashMap.newHashMap(entities.size());
+        Map<K, List<E>> groups = new HashMap<>();
+        for (E entity : entities) {
+            remove(entity);
+            K key = keyExtractor.apply(entity);
+            if (key != null) {
+                keys.put(idOf(entity), key);
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+            }
+        }
+        keysById.putAll(keys);
+        groups.forEach((key, group) -> buckets.computeIfAbsent(key, k -> newBucket()).addAll(group));
+    }
+
+    /**
+     * Removes an entity from the index.
+     * The key the entity was indexed under is used, so entities mutated after being added are removed correctly.
+     *
+     * @param entity The entity to remove.
+     */
+    public void remove(E entity) {
+        K key = keysById.remove(idOf(entity));
+        if (key == null) {
+            return;
+        }
+        Set<E> bucket = buckets.get(key);
+        bucket.remove(entity);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    /**
+     * Creates an empty bucket, safe for concurrent use if the bucket map is.
+     *
+     * @return The new bucket.
+     */
+    protected Set<E> newBucket() {
+        return buckets instanceof ConcurrentMap ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+    }
+
+    /**
+     * Creates a map keyed by entity ID, readable while it is updated if the index is concurrent.
+     *
+     * @param concurrent Whether the map must be safe for concurrent use.
+     * @param <V>        The type of the values.
+     * @return The new map.
+     */
+    protected static <V> Map<UUID, V> newIdMap(boolean concurrent) {
+        return concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Gets the ID of an entity as a map key, with a missing ID mapped to the nil UUID like in the primary index.
+     *
+     * @param entity The entity.
+     * @return The key of the entity's ID.
+     */
+    protected static UUID idOf(Entity entity) {
+        return entity.getId() == null ? GenericJsonRepository.MISSING_ID : entity.getId();
+    }
+
+    /**
+     * Gets the key an entity is indexed under.
+     *
+     * @param entity The indexed entity.
+     * @return The key of the entity, or {@code null} if it is not indexed.
+     */
+    protected K keyOf(E entity) {
+        return keysById.get(idOf(entity));
+    }
+
+    /**
+     * Finds all entities indexed under the given key.
+     *
+     * @param key The key to search for.
+     * @return A set of entities with the specified key.
+     */
+    public Set<E> find(K key) {
+        Set<E> bucket = key == null ? null : buckets.get(key);
+        return bucket == null ? new HashSet<>() : new HashSet<>(bucket);
+    }
+
+    /**
+     * Queries the entities indexed under the given key without copying them.
+     * The bucket of the key is looked up again on every operation of the result.
+     *
+     * @param key The key to search for.
+     * @return A lazy, read-only result of the entities with the specified key.
+     */
+    public QueryResult<E> query(K key) {
+        return QueryResult.ofView(() -> {
+            Set<E> bucket = key == null ? null : buckets.get(key);
+            return bucket == null ? Set.of() : bucket;
+        });
+    }
+
+    /**
+     * Finds any entity indexed under the given key.
+     *
+     * @param key The key to search for.
+     * @return An optional containing an entity with the specified key, or empty if there is none.
+     */
+    public Optional<E> findFirst(K key) {
+        Set<E> bucket = key == null ? null : buckets.get(key);
+        return bucket == null ? Optional.empty() : bucket.stream().findFirst();
+    }
+}
@@ -0,0 +1,134 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.Entity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base class of the streaming type adapters of the entities.
+ * Entities are read field by field into local variables and restored through {@link EntityRestorer} without
+ * validation, so stored entities failing rules added since they were written still load.
+ * Null values are handled by {@link TypeAdapter#nullSafe()}.
+ *
+ * @param <E> The type of the entity.
+ */
+abstract class EntityTypeAdapter<E extends Entity> extends TypeAdapter<E> {
+
+    /**
+     * Writes the ID of an entity.
+     *
+     * @param out The writer to write to.
+     * @param id  The ID of the entity.
+     * @throws IOException Exception during input/output operations.
+     */
+    protected static void writeId(JsonWriter out, UUID id) throws IOException {
+        out.name("id").value(id == null ? null : id.toString());
+    }
+
+    /**
+     * Reads a nullable UUID.
+     *
+     * @param in The reader positioned at the value.
+     * @return The read UUID, or {@code null}.
+     * @throws IOException        Exception during input/output operations.
+     * @throws JsonParseException If the value is not a UUID.
+     */
+    protected static UUID readId(JsonReader in) throws IOException {
+        String id = readString(in);
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Invalid UUID '%s' at %s".formatted(id, in.getPath()), e);
+        }
+    }
+
+    /**
+     * Reads an integer.
+     *
+     * @param in The reader positioned at the value.
+     * @return The read integer.
+     * @throws IOException        Exception during input/output operations.
+     * @throws JsonParseException If the value is not an integer.
+     */
+    protected static int readInt(JsonReader in) throws IOException {
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a nullable string.
+     *
+     * @param in The reader positioned at the value.
+     * @return The read string, or {@code null}.
+     * @throws IOException Exception during input/output operations.
+     */
+    protected static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    /**
+     * Reads a nullable array with the given adapter, skipping null elements.
+     *
+     * @param in      The reader positioned at the value.
+     * @param adapter The adapter of the elements.
+     * @param <T>     The type of the elements.
+     * @return The read elements; empty if the array is {@code null}.
+     * @throws IOException Exception during input/output operations.
+     */
+    protected static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+        List<T> elements = new ArrayList<>();
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return elements;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            T element = adapter.read(in);
+            if (element != null) {
+                elements.add(element);
+            }
+        }
+        in.endArray();
+        return elements;
+    }
+
+    /**
+     * Writes a nullable list with the given adapter.
+     *
+     * @param out      The writer to write to.
+     * @param name     The name of the field.
+     * @param elements The elements to write.
+     * @param adapter  The adapter of the elements.
+     * @param <T>      The type of the elements.
+     * @throws IOException Exception during input/output operations.
+     */
+    protected static <T> void writeList(JsonWriter out, String name, List<T> elements, TypeAdapter<T> adapter)
+        throws IOException {
+        if (elements == null) {
+            return;
+        }
+        out.name(name).beginArray();
+        for (T element : elements) {
+            adapter.write(out, element);
+        }
+        out.endArray();
+    }
+}
@@ -0,0 +1,59 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.Library;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Gson type adapter factory providing the hand-written streaming adapters of all entities, so the repository
+ * files are read and written without reflection or intermediate JSON trees.
+ */
+public class EntityTypeAdapterFactory implements TypeAdapterFactory {
+
+    /**
+     * Registers the streaming adapters of the entities and of the date types with a Gson builder.
+     *
+     * @param builder The builder to register the adapters with.
+     * @return The builder.
+     */
+    public static GsonBuilder registerAll(GsonBuilder builder) {
+        return builder
+            .registerTypeAdapter(LocalDate.class, new LocalDateTypeAdapter().nullSafe())
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeTypeAdapter().nullSafe())
+            .registerTypeAdapterFactory(new EntityTypeAdapterFactory());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        TypeAdapter<?> adapter;
+        if (rawType == Book.class) {
+            adapter = new BookTypeAdapter(gson);
+        } else if (rawType == Category.class) {
+            adapter = new CategoryTypeAdapter();
+        } else if (rawType == Library.class) {
+            adapter = new LibraryTypeAdapter(gson);
+        } else if (rawType == Loan.class) {
+            adapter = new LoanTypeAdapter(gson);
+        } else if (rawType == Review.class) {
+            adapter = new ReviewTypeAdapter(gson);
+        } else if (rawType == User.class) {
+            adapter = new UserTypeAdapter();
+        } else {
+            return null;
+        }
+        return (TypeAdapter<T>) adapter.nullSafe();
+    }
+}
@@ -3,53 +3,116 @@ package com.sangarius.oop.library.persistence.repository.impl.json;
 import com.google.gson.Gson;
 import com.sangarius.oop.library.persistence.entity.Entity;
 import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+import com.sangarius.oop.library.persistence.repository.Page;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.Repository;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonToken;
 
 import java.io.IOException;
-import java.io.StringReader;
-import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Generic JSON implementation of the Repository interface.
+ * <p>
+ * With {@link JsonRepositoryFactory#CONCURRENT_PROPERTY} set, the repository may be shared between threads: the
+ * entities and the indexes are kept in concurrent maps, {@code add} and {@code remove} are applied atomically
+ * with respect to each other, and readers never block. Queries running during an update see the repository
+ * either before or after it, index by index.
+ * <p>
+ * Commits in the concurrent mode write a version of the repository without holding back writers: while a
+ * checkpoint is open, the first update of each entity ID saves the entity it replaces, and the version is rebuilt
+ * from the live entities and the saved ones. In every mode, the saved entities also answer whether an entity
+ * belongs to the version a commit fixed, so the files written by the commit reference only entities stored in
+ * the files of their repositories.
  *
  * @param <E> The type of entities stored in the repository.
  */
 public class GenericJsonRepository<E extends Entity> implements Repository<E> {
 
+    static final UUID MISSING_ID = new UUID(0, 0);
+
+    /**
+     * Read-only view of the stored entities.
+     */
     protected final Set<E> entities;
+    private final Map<UUID, E> primaryIndex;
+    private final List<EntityIndex<?, E>> secondaryIndexes = new ArrayList<>();
+    private final List<Consumer<? super E>> additionListeners = new CopyOnWriteArrayList<>();
+    private final boolean concurrent = Boolean.getBoolean(JsonRepositoryFactory.CONCURRENT_PROPERTY);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Map<UUID, Optional<E>> checkpointVersion;
+    private volatile boolean versionStored;
     private final Gson gson;
+    private final SnapshotFormat format;
     private final Path path;
-    private final Type collectionType;
+    private final Class<E> entityType;
+    private volatile boolean dirty;
+    private volatile long modificationCount;
+    private WriteAheadLog<E> log;
 
     /**
      * Constructs a new instance of GenericJsonRepository.
      *
      * @param gson           The Gson instance for JSON serialization/deserialization.
-     * @param path           The path to the JSON file.
-     * @param collectionType The type of the collection for Gson deserialization.
+     * @param format         The format of the snapshot file.
+     * @param path           The path to the JSON file; the snapshot file is resolved from it by the format.
+     * @param entityType     The class of the entities for deserialization.
      */
-    public GenericJsonRepository(Gson gson, Path path, Type collectionType) {
+    public GenericJsonRepository(Gson gson, SnapshotFormat format, Path path, Class<E> entityType) {
         this.gson = gson;
-        this.path = path;
-        this.collectionType = collectionType;
-        entities = new HashSet<>(loadAll());
+        this.format = format;
+        this.path = format.resolve(path);
+        this.entityType = entityType;
+        Set<E> loaded = loadAll();
+        primaryIndex = concurrent ? new ConcurrentHashMap<>(loaded.size()) : new HashMap<>(loaded.size());
+        loaded.forEach(entity -> primaryIndex.put(key(entity.getId()), entity));
+        entities = new EntitySet();
     }
 
+    /**
+     * Retrieves an entity by its unique identifier using the primary index.
+     *
+     * @param id The unique identifier of the entity.
+     * @return An {@code Optional} containing the entity if found, or empty if not found.
+     */
     @Override
     public Optional<E> findById(UUID id) {
-        return entities.stream().filter(e -> e.getId().equals(id)).findFirst();
+        return Optional.ofNullable(primaryIndex.get(key(id)));
     }
 
+    /**
+     * Retrieves all entities as a read-only view of the repository.
+     * In the concurrent mode, iterating the view never fails and reflects some or all of the updates made
+     * meanwhile.
+     *
+     * @return A read-only set of all entities.
+     */
     @Override
     public Set<E> findAll() {
         return entities;
@@ -60,27 +123,617 @@ public class GenericJsonRepository<E extends Entity> implements Repository<E> {
         return entities.stream().filter(filter).collect(Collectors.toSet());
     }
 
+    /**
+     * Queries all entities through the read-only view of the repository; counting takes the size of the view.
+     *
+     * @return A lazy result of all entities.
+     */
+    @Override
+    public QueryResult<E> query() {
+        return QueryResult.ofView(() -> entities);
+    }
+
+    /**
+     * Queries the entities matching a filter, applying it lazily to the read-only view of the repository.
+     *
+     * @param filter The predicate the entities must match.
+     * @return A lazy result of the matching entities.
+     */
+    @Override
+    public QueryResult<E> query(Predicate<E> filter) {
+        return QueryResult.of(() -> entities.stream().filter(filter));
+    }
+
+    /**
+     * Retrieves one page of all entities in the given order, without sorting the whole repository.
+     * The entities before the page are skipped, or, for a keyset request, filtered out by comparing them with the
+     * last entity of the previous page; the rest are selected with a bounded heap holding at most the entities up
+     * to the end of the page, and only those are sorted.
+     *
+     * @param order   The order of the entities; ties are broken by ID.
+     * @param request The requested page.
+     * @return The page of entities.
+     */
+    @Override
+    public Page<E> findPage(Comparator<? super E> order, PageRequest request) {
+        Comparator<E> ascending = order::compare;
+        Comparator<E> total = ascending.thenComparing(SortedIndex.BY_ID);
+        Comparator<E> pageOrder = request.getDirection() == PageRequest.Direction.DESCENDING
+            ? total.reversed() : total;
+        Stream<E> candidates = entities.stream();
+        long skip = 0;
+        if (request.isKeyset()) {
+            E after = entityType.cast(request.getAfter());
+            candidates = candidates.filter(entity -> pageOrder.compare(entity, after) > 0);
+        } else {
+            skip = (long) request.getPage() * request.getSize();
+        }
+        long wanted = skip + request.getSize() + 1;
+        PriorityQueue<E> heap = new PriorityQueue<>(pageOrder.reversed());
+        candidates.forEach(entity -> {
+            if (heap.size() < wanted) {
+                heap.add(entity);
+            } else if (pageOrder.compare(entity, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entity);
+            }
+        });
+        List<E> selected = new ArrayList<>(heap);
+        selected.sort(pageOrder);
+        List<E> items = selected.subList((int) Math.min(skip, selected.size()), selected.size());
+        return Page.of(items, request, Function.identity());
+    }
+
+    /**
+     * Adds an entity to the repository, replacing any entity with the same ID.
+     * With a write-ahead log enabled, the addition is logged before it is applied.
+     *
+     * @param entity The entity to add.
+     * @return The added entity.
+     */
     @Override
     public E add(E entity) {
-        entities.remove(entity);
-        entities.add(entity);
+        writeLock.lock();
+        try {
+            logAndAdd(entity);
+        } finally {
+            writeLock.unlock();
+        }
+        notifyAdded(List.of(entity));
         return entity;
     }
 
+    /**
+     * Changes a stored entity in place under the write lock and re-indexes it.
+     * The indexes find the entity by the keys it was indexed under, so they are updated after the change. With a
+     * write-ahead log enabled, the changed entity is logged as an addition once the change is applied.
+     * A commit writing the repository meanwhile may write the entity before or after the change.
+     *
+     * @param id     The unique identifier of the entity to change.
+     * @param change The change to apply to the entity.
+     * @return An optional containing the changed entity, or empty if there is no entity with the ID.
+     */
+    @Override
+    public Optional<E> update(UUID id, Consumer<? super E> change) {
+        E entity;
+        writeLock.lock();
+        try {
+            entity = primaryIndex.get(key(id));
+            if (entity == null) {
+                return Optional.empty();
+            }
+            change.accept(entity);
+            if (log != null) {
+                log.appendAdd(entity);
+            }
+            secondaryIndexes.forEach(index -> {
+                index.remove(entity);
+                index.add(entity);
+            });
+            changed();
+        } finally {
+            writeLock.unlock();
+        }
+        notifyAdded(List.of(entity));
+        return Optional.of(entity);
+    }
+
+    /**
+     * Removes an entity from the repository.
+     * With a write-ahead log enabled, the removal is logged before it is applied.
+     *
+     * @param entity The entity to remove.
+     * @return {@code true} if the entity was removed, {@code false} otherwise.
+     */
     @Override
     public boolean remove(E entity) {
-        return entities.remove(entity);
+        writeLock.lock();
+        try {
+            return logAndRemove(entity);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a batch of entities to the repository, replacing any entities with the same IDs.
+     * The primary index is pre-sized for the batch and each secondary index is updated in one pass.
+     * With a write-ahead log enabled, the batch is logged and forced to disk once before it is applied.
+     *
+     * @param entities The entities to add; of several entities with the same ID, the last one is kept.
+     */
+    @Override
+    public void addAll(Collection<? extends E> entities) {
+        writeLock.lock();
+        try {
+            logAndAddAll(entities);
+        } finally {
+            writeLock.unlock();
+        }
+        notifyAdded(entities);
+    }
+
+    /**
+     * Removes a batch of entities from the repository, updating each secondary index in one pass.
+     * With a write-ahead log enabled, the batch is logged and forced to disk once before it is applied.
+     *
+     * @param entities The entities to remove.
+     * @return The number of entities removed.
+     */
+    @Override
+    public int removeAll(Collection<? extends E> entities) {
+        writeLock.lock();
+        try {
+            return logAndRemoveAll(entities).size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a batch of additions and removals as one step with respect to other writers.
+     * Entities with the same ID must not be both added and removed.
+     *
+     * @param additions The entities to add, replacing any entities with the same IDs.
+     * @param removals  The entities to remove.
+     * @return The action undoing the batch, restoring the entities it replaced or removed.
+     */
+    Runnable applyBatch(Collection<E> additions, Collection<E> removals) {
+        List<E> replaced = new ArrayList<>();
+        List<E> created = new ArrayList<>();
+        writeLock.lock();
+        try {
+            replaced.addAll(logAndRemoveAll(removals));
+            for (E entity : additions) {
+                E previous = primaryIndex.get(key(entity.getId()));
+                if (previous == null) {
+                    created.add(entity);
+                } else {
+                    replaced.add(previous);
+                }
+            }
+            logAndAddAll(additions);
+        } finally {
+            writeLock.unlock();
+        }
+        notifyAdded(additions);
+        return () -> {
+            writeLock.lock();
+            try {
+                logAndRemoveAll(created);
+                logAndAddAll(replaced);
+            } finally {
+                writeLock.unlock();
+            }
+            notifyAdded(replaced);
+        };
+    }
+
+    /**
+     * Registers a listener called with the entities added to the repository, once the write lock is released.
+     * Repositories indexing values derived from the entities of this one use it to re-index their own entities.
+     *
+     * @param listener The listener called with each added entity.
+     */
+    void addAdditionListener(Consumer<? super E> listener) {
+        additionListeners.add(listener);
+    }
+
+    private void notifyAdded(Collection<? extends E> entities) {
+        for (Consumer<? super E> listener : additionListeners) {
+            entities.forEach(listener);
+        }
+    }
+
+    /**
+     * Re-indexes stored entities whose indexed values changed without the entities being replaced, such as books
+     * indexed under the name of their category after the category was renamed.
+     * The entities themselves have not changed, so nothing is logged and the repository is not marked dirty.
+     *
+     * @param entities The entities to re-index; entities not stored in the repository are skipped.
+     */
+    void reindex(Collection<? extends E> entities) {
+        writeLock.lock();
+        try {
+            for (E entity : entities) {
+                if (primaryIndex.get(key(entity.getId())) == entity) {
+                    secondaryIndexes.forEach(index -> {
+                        index.remove(entity);
+                        index.add(entity);
+                    });
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void logAndAddAll(Collection<? extends E> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        Map<UUID, E> batch = LinkedHashMap.newLinkedHashMap(entities.size());
+        entities.forEach(entity -> batch.put(key(entity.getId()), entity));
+        if (log != null) {
+            log.appendAddAll(batch.values());
+        }
+        batch.keySet().forEach(this::saveForCheckpoint);
+        primaryIndex.putAll(batch);
+        secondaryIndexes.forEach(index -> index.addAll(batch.values()));
+        changed();
+    }
+
+    private List<E> logAndRemoveAll(Collection<? extends E> entities) {
+        Map<UUID, E> removed = new LinkedHashMap<>();
+        for (E entity : entities) {
+            UUID key = key(entity.getId());
+            E stored = primaryIndex.get(key);
+            if (stored != null) {
+                removed.put(key, stored);
+            }
+        }
+        if (removed.isEmpty()) {
+            return List.of();
+        }
+        if (log != null) {
+            log.appendRemoveAll(removed.values().stream().map(Entity::getId).toList());
+        }
+        for (Map.Entry<UUID, E> entry : removed.entrySet()) {
+            saveForCheckpoint(entry.getKey());
+            primaryIndex.remove(entry.getKey());
+            secondaryIndexes.forEach(index -> index.remove(entry.getValue()));
+        }
+        changed();
+        return new ArrayList<>(removed.values());
+    }
+
+    private E logAndAdd(E entity) {
+        if (log != null) {
+            log.appendAdd(entity);
+        }
+        return applyAdd(entity);
+    }
+
+    private boolean logAndRemove(E entity) {
+        if (log != null) {
+            if (!primaryIndex.containsKey(key(entity.getId()))) {
+                return false;
+            }
+            log.appendRemove(entity.getId());
+        }
+        return applyRemove(entity);
+    }
+
+    private E applyAdd(E entity) {
+        saveForCheckpoint(key(entity.getId()));
+        primaryIndex.put(key(entity.getId()), entity);
+        for (EntityIndex<?, E> index : secondaryIndexes) {
+            index.remove(entity);
+            index.add(entity);
+        }
+        changed();
+        return entity;
+    }
+
+    private boolean applyRemove(E entity) {
+        saveForCheckpoint(key(entity.getId()));
+        boolean removed = primaryIndex.remove(key(entity.getId())) != null;
+        secondaryIndexes.forEach(index -> index.remove(entity));
+        if (removed) {
+            changed();
+        }
+        return removed;
+    }
+
+    private void changed() {
+        dirty = true;
+        modificationCount++;
+    }
+
+    /**
+     * Checks whether entities were added or removed since the repository was loaded or last committed.
+     *
+     * @return {@code true} if the repository has uncommitted changes, {@code false} otherwise.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Gets the number of changes applied to the repository since it was loaded.
+     * Changes are counted under the write lock, so every completed {@code add}, {@code remove} or batch is visible
+     * as a greater count.
+     *
+     * @return The modification count.
+     */
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Marks the repository as having no uncommitted changes.
+     */
+    void markClean() {
+        dirty = false;
+    }
+
+    /**
+     * Marks the repository as having uncommitted changes.
+     */
+    void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Enables the write-ahead log of the repository.
+     * Mutations logged since the last snapshot are replayed over the loaded entities, each added entity linked by
+     * the snapshot format first, and every later {@code add} and {@code remove} is durably appended to the log.
+     */
+    void enableWriteAheadLog() {
+        WriteAheadLog<E> writeAheadLog = new WriteAheadLog<>(gson, path, entityType);
+        writeAheadLog.open(entity -> applyAdd(format.link(entity, entityType)),
+            id -> findById(id).ifPresent(this::applyRemove));
+        log = writeAheadLog;
+    }
+
+    /**
+     * Saves the entity stored under a key before its first update since its version was fixed.
+     * An absent entity is saved as an empty optional.
+     *
+     * @param key The key about to be updated.
+     */
+    private void saveForCheckpoint(UUID key) {
+        Map<UUID, Optional<E>> version = checkpointVersion;
+        if (version != null && !version.containsKey(key)) {
+            version.put(key, Optional.ofNullable(primaryIndex.get(key)));
+        }
+    }
+
+    /**
+     * Get the lock serializing the updates of the repository.
+     * A commit holds the locks of all repositories while it begins their checkpoints, so the checkpoints form
+     * one version across the repositories.
+     *
+     * @return The write lock of the repository.
+     */
+    Lock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * Starts a checkpoint: fixes the version of the entities to write and rotates the write-ahead log, as one step
+     * with respect to concurrent mutations.
+     * In the concurrent mode, this takes constant time, and the returned supplier rebuilds the version while
+     * writers go on. Otherwise, the entities are copied while writers are held back, as the live entities may be
+     * updated by another thread while the copy is written.
+     *
+     * @return The supplier of the entities to write to the new snapshot.
+     */
+    Supplier<Set<E>> beginCheckpoint() {
+        writeLock.lock();
+        try {
+            markClean();
+            if (log != null) {
+                log.rotate();
+            }
+            Map<UUID, Optional<E>> version = fixVersion(true);
+            if (concurrent) {
+                return () -> rebuildVersion(version);
+            }
+            Set<E> snapshot = new HashSet<>(primaryIndex.values());
+            return () -> snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Fixes the version of the repository for a commit that does not write its file, so the references written by
+     * the commit can be checked against it, see {@link #isInVersion(UUID)}.
+     * The file of a repository with uncommitted changes does not hold this version, so no entity counts as
+     * belonging to it.
+     */
+    void fixVersion() {
+        writeLock.lock();
+        try {
+            fixVersion(!dirty);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Map<UUID, Optional<E>> fixVersion(boolean stored) {
+        Map<UUID, Optional<E>> version = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        versionStored = stored;
+        checkpointVersion = version;
+        return version;
+    }
+
+    /**
+     * Releases the version fixed by {@link #fixVersion()} once the commit has written its files.
+     */
+    void releaseVersion() {
+        checkpointVersion = null;
+    }
+
+    /**
+     * Checks whether an entity belongs to the version fixed by the commit being written, that is, whether the
+     * repository file holds it once the commit is done. Without a fixed version, the live entities are checked.
+     * In the concurrent mode the lookup never blocks; otherwise it holds the write lock, as the entities may be
+     * updated by another thread than the one writing the commit.
+     *
+     * @param id The ID of the entity.
+     * @return {@code true} if the version holds an entity with the ID, {@code false} otherwise.
+     */
+    boolean isInVersion(UUID id) {
+        if (concurrent) {
+            return isInVersion(key(id), checkpointVersion);
+        }
+        writeLock.lock();
+        try {
+            return isInVersion(key(id), checkpointVersion);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean isInVersion(UUID key, Map<UUID, Optional<E>> version) {
+        boolean live = primaryIndex.containsKey(key);
+        if (version == null) {
+            return live;
+        }
+        if (!versionStored) {
+            return false;
+        }
+        Optional<E> saved = version.get(key);
+        return saved == null ? live : saved.isPresent();
+    }
+
+    /**
+     * Rebuilds the entities as of the beginning of the open checkpoint.
+     * Each live entity is read before its saved predecessor is looked up, and an update saves the predecessor
+     * before it changes the live entity, so every key resolves to its entity at the beginning of the checkpoint.
+     *
+     * @param version The entities saved since the beginning of the checkpoint.
+     * @return The entities of the version.
+     */
+    private Set<E> rebuildVersion(Map<UUID, Optional<E>> version) {
+        Map<UUID, E> result = new HashMap<>(primaryIndex.size());
+        primaryIndex.forEach((key, entity) -> {
+            Optional<E> saved = version.get(key);
+            if (saved == null) {
+                result.put(key, entity);
+            } else {
+                saved.ifPresent(previous -> result.put(key, previous));
+            }
+        });
+        version.forEach((key, saved) -> saved.ifPresent(previous -> result.putIfAbsent(key, previous)));
+        return new HashSet<>(result.values());
+    }
+
+    /**
+     * Completes a checkpoint once the snapshot returned by {@link #beginCheckpoint()} has been written.
+     */
+    void completeCheckpoint() {
+        checkpointVersion = null;
+        if (log != null) {
+            log.discardRotated();
+        }
+    }
+
+    /**
+     * Abandons a checkpoint whose snapshot could not be written; its changes are committed next time.
+     */
+    void failCheckpoint() {
+        checkpointVersion = null;
+        markDirty();
+    }
+
+    /**
+     * Creates a hash index over the entities of the repository.
+     * The index is filled with the already loaded entities and kept in sync by {@code add} and {@code remove}.
+     *
+     * @param keyExtractor The function extracting the index key from an entity.
+     * @param <K>          The type of the index key.
+     * @return The created index.
+     */
+    protected <K> HashIndex<K, E> createHashIndex(Function<E, K> keyExtractor) {
+        return registerIndex(new HashIndex<>(keyExtractor, concurrent));
+    }
+
+    /**
+     * Creates a sorted index over the entities of the repository.
+     * The index is filled with the already loaded entities and kept in sync by {@code add} and {@code remove}.
+     *
+     * @param keyExtractor The function extracting the index key from an entity.
+     * @param <K>          The type of the index key.
+     * @return The created index.
+     */
+    protected <K extends Comparable<? super K>> SortedIndex<K, E> createSortedIndex(Function<E, K> keyExtractor) {
+        return registerIndex(new SortedIndex<>(keyExtractor, concurrent));
+    }
+
+    /**
+     * Creates a full-text index over the entities of the repository.
+     * The index is filled with the already loaded entities and kept in sync by {@code add} and {@code remove}.
+     *
+     * @param textExtractor The function extracting the indexed text from an entity.
+     * @return The created index.
+     */
+    protected TextIndex<E> createTextIndex(Function<E, String> textExtractor) {
+        return registerIndex(new TextIndex<>(textExtractor, concurrent));
+    }
+
+    /**
+     * Creates a trigram index for typo-tolerant queries over the entities of the repository.
+     * The index is filled with the already loaded entities and kept in sync by {@code add} and {@code remove}.
+     *
+     * @param fieldExtractors The functions extracting the indexed fields from an entity.
+     * @return The created index.
+     */
+    protected TrigramIndex<E> createTrigramIndex(List<Function<E, String>> fieldExtractors) {
+        return registerIndex(new TrigramIndex<>(fieldExtractors, concurrent));
+    }
+
+    private <I extends EntityIndex<?, E>> I registerIndex(I index) {
+        entities.forEach(index::add);
+        secondaryIndexes.add(index);
+        return index;
     }
 
     public Path getPath() {
         return path;
     }
 
+    /**
+     * Get the class of the entities stored in the repository.
+     *
+     * @return The entity class.
+     */
+    public Class<E> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Get the snapshot format of the repository file.
+     *
+     * @return The snapshot format.
+     */
+    public SnapshotFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Loads the entities from the snapshot file. An empty file is treated as an empty repository.
+     *
+     * @return The set of loaded entities.
+     * @throws JsonFileIOException If the file cannot be read or is malformed.
+     */
     private Set<E> loadAll() {
         try {
             fileNotFound();
-            var json = Files.readString(path);
-            return isValidJson(json) ? gson.fromJson(json, collectionType) : new HashSet<>();
+            return format.read(path, entityType);
         } catch (IOException e) {
             throw new JsonFileIOException("Error working with the file %s."
                 .formatted(path.getFileName()));
@@ -88,28 +741,45 @@ public class GenericJsonRepository<E extends Entity> implements Repository<E> {
     }
 
     /**
-     * Checks the validity of the JSON data format.
+     * If the file does not exist, create it.
      *
-     * @param input JSON data as a string.
-     * @return The result of the check.
+     * @throws IOException Exception during input/output operations.
      */
-    private boolean isValidJson(String input) {
-        try (JsonReader reader = new JsonReader(new StringReader(input))) {
-            reader.skipValue();
-            return reader.peek() == JsonToken.END_DOCUMENT;
-        } catch (IOException e) {
-            return false;
+    private void fileNotFound() throws IOException {
+        if (!Files.exists(path)) {
+            Files.createFile(path);
         }
     }
 
     /**
-     * If the file does not exist, create it.
+     * Maps an entity ID to its key in the primary index.
+     * Concurrent maps do not accept {@code null} keys, so an entity without an ID is stored under the nil UUID.
      *
-     * @throws IOException Exception during input/output operations.
+     * @param id The ID of the entity.
+     * @return The key of the entity.
      */
-    private void fileNotFound() throws IOException {
-        if (!Files.exists(path)) {
-            Files.createFile(path);
+    private static UUID key(UUID id) {
+        return id == null ? MISSING_ID : id;
+    }
+
+    /**
+     * Read-only set view of the entities in the primary index.
+     */
+    private class EntitySet extends AbstractSet<E> {
+
+        @Override
+        public Iterator<E> iterator() {
+            return Collections.unmodifiableCollection(primaryIndex.values()).iterator();
+        }
+
+        @Override
+        public int size() {
+            return primaryIndex.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Entity entity && entity.equals(primaryIndex.get(key(entity.getId())));
         }
     }
-}
\ No newline at end of file
+}
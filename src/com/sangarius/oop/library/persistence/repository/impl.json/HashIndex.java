@@ -0,0 +1,35 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Secondary index answering exact-match queries through a hash map.
+ *
+ * @param <K> The type of the index key.
+ * @param <E> The type of entities stored in the index.
+ */
+public class HashIndex<K, E extends Entity> extends EntityIndex<K, E> {
+
+    /**
+     * Constructs a new instance of {@code HashIndex}.
+     *
+     * @param keyExtractor The function extracting the index key from an entity.
+     */
+    public HashIndex(Function<E, K> keyExtractor) {
+        this(keyExtractor, false);
+    }
+
+    /**
+     * Constructs a new instance of {@code HashIndex}, optionally readable while it is updated.
+     *
+     * @param keyExtractor The function extracting the index key from an entity.
+     * @param concurrent   Whether the index is backed by concurrent maps and sets.
+     */
+    public HashIndex(Function<E, K> keyExtractor, boolean concurrent) {
+        super(concurrent ? new ConcurrentHashMap<>() : new HashMap<>(), keyExtractor);
+    }
+}
@@ -37,6 +37,11 @@ public enum JsonPathFactory {
      */
     CATEGORIES("categories.json");
 
+    /**
+     * Name of the system property setting the directory of the files, {@value #DATA_DIRECTORY} by default.
+     */
+    public static final String DATA_DIRECTORY_PROPERTY = "library.dataDirectory";
+
     private static final String DATA_DIRECTORY = "data";
     private final String fileName;
 
@@ -50,11 +55,11 @@ public enum JsonPathFactory {
     }
 
     /**
-     * Get the path to the file.
+     * Get the path to the file in the configured data directory.
      *
      * @return The path to the file.
      */
     public Path getPath() {
-        return Path.of(DATA_DIRECTORY, this.fileName);
+        return Path.of(System.getProperty(DATA_DIRECTORY_PROPERTY, DATA_DIRECTORY), this.fileName);
     }
 }
\ No newline at end of file
@@ -1,23 +1,34 @@
 package com.sangarius.oop.library.persistence.repository.impl.json;
 
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializer;
 import com.sangarius.oop.library.persistence.entity.Entity;
 import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
 import com.sangarius.oop.library.persistence.repository.RepositoryFactory;
+import com.sangarius.oop.library.persistence.repository.Transaction;
 import com.sangarius.oop.library.persistence.repository.contracts.*;
+import com.sangarius.oop.library.persistence.repository.impl.binary.BinarySnapshotFormat;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the UnitOfWork pattern and a factory with singleton.
@@ -25,53 +36,162 @@ import java.util.Set;
  */
 public class JsonRepositoryFactory extends RepositoryFactory {
 
+    /**
+     * Name of the system property enabling the write-ahead log.
+     */
+    public static final String WAL_PROPERTY = "library.wal";
+
+    /**
+     * Name of the system property setting the interval of background checkpoints in seconds.
+     */
+    public static final String CHECKPOINT_INTERVAL_PROPERTY = "library.wal.checkpointSeconds";
+
+    /**
+     * Name of the system property enabling the normalized JSON files, see {@link NormalizedJsonSnapshotFormat}.
+     */
+    public static final String NORMALIZED_PROPERTY = "library.normalized";
+
+    /**
+     * Name of the system property enabling repositories safe to share between threads, see
+     * {@link GenericJsonRepository}.
+     */
+    public static final String CONCURRENT_PROPERTY = "library.concurrent";
+
     private final Gson gson;
-    private BookJsonRepositoryImpl bookJsonRepositoryImpl;
-    private CategoryJsonRepositoryImpl categoryJsonRepositoryImpl;
-    private LibraryJsonRepositoryImpl libraryJsonRepositoryImpl;
-    private LoanJsonRepositoryImpl loanJsonRepositoryImpl;
-    private ReviewJsonRepositoryImpl reviewJsonRepositoryImpl;
-    private UserJsonRepositoryImpl userJsonRepositoryImpl;
+    private final boolean writeAheadLogEnabled = Boolean.getBoolean(WAL_PROPERTY);
+    private final Map<Path, Duration> loadTimes = new ConcurrentHashMap<>();
+    private final LazyRepository<BookJsonRepositoryImpl> bookJsonRepositoryImpl;
+    private final LazyRepository<CategoryJsonRepositoryImpl> categoryJsonRepositoryImpl;
+    private final LazyRepository<LibraryJsonRepositoryImpl> libraryJsonRepositoryImpl;
+    private final LazyRepository<LoanJsonRepositoryImpl> loanJsonRepositoryImpl;
+    private final LazyRepository<ReviewJsonRepositoryImpl> reviewJsonRepositoryImpl;
+    private final LazyRepository<UserJsonRepositoryImpl> userJsonRepositoryImpl;
+    private volatile RuntimeException checkpointFailure;
 
     /**
      * Constructs a new instance of {@code JsonRepositoryFactory}.
-     * Initializes Gson with custom serializers and deserializers for LocalDateTime and LocalDate types.
-     * Initializes repository implementations for each entity type.
+     * Initializes Gson with the streaming type adapters of the entities and the LocalDateTime and LocalDate types.
+     * Prepares repository implementations for each entity type and loads them according to the configured
+     * {@link BootstrapMode}.
+     *
+     * @param formatFactory the function creating the snapshot format of the repository files from the Gson instance
+     *                      and the linker sharing one instance per entity between the repositories
      */
-    private JsonRepositoryFactory() {
+    JsonRepositoryFactory(BiFunction<Gson, ReferenceLinker, SnapshotFormat> formatFactory) {
         GsonBuilder gsonBuilder = new GsonBuilder();
 
-        // Register custom serializers and deserializers for LocalDateTime type
-        gsonBuilder.registerTypeAdapter(LocalDateTime.class,
-            (JsonSerializer<LocalDateTime>) (localDate, srcType, context) ->
-                new JsonPrimitive(
-                    DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm").format(localDate)));
-        gsonBuilder.registerTypeAdapter(LocalDateTime.class,
-            (JsonDeserializer<LocalDateTime>) (json, typeOfT, context) ->
-                LocalDateTime.parse(json.getAsString(),
-                    DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")
-                        .withLocale(Locale.of("uk", "UA"))));
-
-        // Register custom serializers and deserializers for LocalDate type
-        gsonBuilder.registerTypeAdapter(LocalDate.class,
-            (JsonSerializer<LocalDate>) (localDate, srcType, context) ->
-                new JsonPrimitive(
-                    DateTimeFormatter.ofPattern("dd-MM-yyyy").format(localDate)));
-        gsonBuilder.registerTypeAdapter(LocalDate.class,
-            (JsonDeserializer<LocalDate>) (json, typeOfT, context) ->
-                LocalDate.parse(json.getAsString(),
-                    DateTimeFormatter.ofPattern("dd-MM-yyyy")
-                        .withLocale(Locale.of("uk", "UA"))));
+        // Register the streaming adapters of the entities and the date types
+        EntityTypeAdapterFactory.registerAll(gsonBuilder);
 
         gson = gsonBuilder.setPrettyPrinting().create();
 
-        // Initialize repository implementations for each entity type
-        bookJsonRepositoryImpl = new BookJsonRepositoryImpl(gson);
-        categoryJsonRepositoryImpl = new CategoryJsonRepositoryImpl(gson);
-        libraryJsonRepositoryImpl = new LibraryJsonRepositoryImpl(gson);
-        loanJsonRepositoryImpl = new LoanJsonRepositoryImpl(gson);
-        reviewJsonRepositoryImpl = new ReviewJsonRepositoryImpl(gson);
-        userJsonRepositoryImpl = new UserJsonRepositoryImpl(gson);
+        ReferenceLinker linker = new ReferenceLinker(this);
+        SnapshotFormat format = formatFactory.apply(gson, linker);
+
+        // Prepare repository implementations for each entity type; each one reads its file on first access, and
+        // the associations left to it by the repositories loaded before are then linked
+        bookJsonRepositoryImpl = new LazyRepository<>(
+            () -> timedLoad(() -> new BookJsonRepositoryImpl(gson, format)), linker::linkDeferred);
+        categoryJsonRepositoryImpl = new LazyRepository<>(() -> {
+            CategoryJsonRepositoryImpl categories = timedLoad(() -> new CategoryJsonRepositoryImpl(gson, format));
+            // Books are searched by the names of their categories, so a category added again may rename theirs
+            categories.addAdditionListener(category -> bookJsonRepositoryImpl.getIfLoaded()
+                .ifPresent(books -> books.reindexCategory(category)));
+            return categories;
+        }, linker::linkDeferred);
+        libraryJsonRepositoryImpl = new LazyRepository<>(
+            () -> timedLoad(() -> new LibraryJsonRepositoryImpl(gson, format)), linker::linkDeferred);
+        loanJsonRepositoryImpl = new LazyRepository<>(
+            () -> timedLoad(() -> new LoanJsonRepositoryImpl(gson, format)), linker::linkDeferred);
+        reviewJsonRepositoryImpl = new LazyRepository<>(
+            () -> timedLoad(() -> new ReviewJsonRepositoryImpl(gson, format)), linker::linkDeferred);
+        userJsonRepositoryImpl = new LazyRepository<>(
+            () -> timedLoad(() -> new UserJsonRepositoryImpl(gson, format)), linker::linkDeferred);
+
+        switch (BootstrapMode.fromSystemProperty()) {
+            case LAZY -> { }
+            case SEQUENTIAL -> repositories().forEach(LazyRepository::get);
+            case PARALLEL -> loadInParallel();
+        }
+
+        if (writeAheadLogEnabled) {
+            scheduleCheckpoints();
+        }
+    }
+
+    /**
+     * Loads all repositories at the same time on a thread pool bounded by the number of files and processors.
+     * Returns only once every repository is fully loaded.
+     * <p>
+     * Loading is mostly parsing, so the work is bounded by the processors rather than by blocking reads, and
+     * there are only six tasks; platform threads fit that better than virtual threads, which would also pin their
+     * carriers while waiting on the synchronized repository holders.
+     */
+    private void loadInParallel() {
+        int threads = Math.min(JsonPathFactory.values().length, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> pending = repositories().stream()
+                .<Future<?>>map(repository -> executor.submit(repository::get))
+                .toList();
+            pending.forEach(JsonRepositoryFactory::await);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Lists the holders of all repositories managed by the factory.
+     *
+     * @return the list of repository holders
+     */
+    private List<LazyRepository<? extends GenericJsonRepository<?>>> repositories() {
+        return List.of(bookJsonRepositoryImpl, categoryJsonRepositoryImpl, libraryJsonRepositoryImpl,
+            loanJsonRepositoryImpl, reviewJsonRepositoryImpl, userJsonRepositoryImpl);
+    }
+
+    /**
+     * Creates a repository, replays its write-ahead log if enabled, and records how long loading took.
+     * The snapshot format resolves the associations of the loaded entities to the entities stored in the other
+     * repositories; a normalized file that still embeds them is marked to be rewritten.
+     *
+     * @param loader The supplier creating the repository.
+     * @param <R>    The type of the repository.
+     * @return The loaded repository.
+     */
+    private <R extends GenericJsonRepository<?>> R timedLoad(Supplier<R> loader) {
+        long start = System.nanoTime();
+        R repository = loader.get();
+        if (writeAheadLogEnabled) {
+            repository.enableWriteAheadLog();
+        }
+        loadTimes.put(repository.getPath(), Duration.ofNanos(System.nanoTime() - start));
+        if (repository.getFormat() instanceof NormalizedJsonSnapshotFormat normalized
+            && normalized.isDenormalized(repository.getPath())) {
+            repository.markDirty();
+        }
+        return repository;
+    }
+
+    /**
+     * Waits for a repository being loaded in the background.
+     * Rethrows the exception that stopped the loading, if any.
+     *
+     * @param future The pending repository.
+     */
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new JsonFileIOException("Failed to load the json files. Details: %s"
+                .formatted(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JsonFileIOException("Loading of the json files was interrupted.");
+        }
     }
 
     /**
@@ -83,6 +203,36 @@ public class JsonRepositoryFactory extends RepositoryFactory {
         return InstanceHolder.INSTANCE;
     }
 
+    /**
+     * Retrieves the singleton instance of {@code JsonRepositoryFactory} storing its snapshots in the compact
+     * binary format instead of JSON.
+     *
+     * @return the singleton instance backed by binary snapshot files
+     */
+    public static JsonRepositoryFactory getBinaryInstance() {
+        return BinaryInstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Retrieves how long loading each JSON file took.
+     *
+     * @return an unmodifiable map from file path to its load time
+     */
+    public Map<Path, Duration> getLoadTimes() {
+        return Collections.unmodifiableMap(loadTimes);
+    }
+
+    /**
+     * Retrieves why the last background checkpoint of the write-ahead logs failed.
+     * A failed checkpoint is retried on the next run, and the logs keep growing until one succeeds; the failure is
+     * cleared by the next successful commit.
+     *
+     * @return the exception that stopped the last background checkpoint, or empty if it did not fail
+     */
+    public Optional<RuntimeException> getCheckpointFailure() {
+        return Optional.ofNullable(checkpointFailure);
+    }
+
     // Override methods to provide access to repository implementations
 
     /**
@@ -92,7 +242,7 @@ public class JsonRepositoryFactory extends RepositoryFactory {
      */
     @Override
     public BookRepository getBookRepository() {
-        return bookJsonRepositoryImpl;
+        return bookJsonRepositoryImpl.get();
     }
 
     /**
@@ -102,7 +252,7 @@ public class JsonRepositoryFactory extends RepositoryFactory {
      */
     @Override
     public CategoryRepository getCategoryRepository() {
-        return categoryJsonRepositoryImpl;
+        return categoryJsonRepositoryImpl.get();
     }
 
     /**
@@ -112,7 +262,7 @@ public class JsonRepositoryFactory extends RepositoryFactory {
      */
     @Override
     public LibraryRepository getLibraryRepository() {
-        return libraryJsonRepositoryImpl;
+        return libraryJsonRepositoryImpl.get();
     }
 
     /**
@@ -122,7 +272,7 @@ public class JsonRepositoryFactory extends RepositoryFactory {
      */
     @Override
     public LoanRepository getLoanRepository() {
-        return loanJsonRepositoryImpl;
+        return loanJsonRepositoryImpl.get();
     }
 
     /**
@@ -132,7 +282,7 @@ public class JsonRepositoryFactory extends RepositoryFactory {
      */
     @Override
     public ReviewRepository getReviewRepository() {
-        return reviewJsonRepositoryImpl;
+        return reviewJsonRepositoryImpl.get();
     }
 
     /**
@@ -142,44 +292,235 @@ public class JsonRepositoryFactory extends RepositoryFactory {
      */
     @Override
     public UserRepository getUserRepository() {
-        return userJsonRepositoryImpl;
+        return userJsonRepositoryImpl.get();
     }
 
     /**
-     * Commits changes made to all repositories by serializing entities to their corresponding JSON files.
-     * Clears the content of each file before saving the updated data.
-     * Throws a {@code JsonFileIOException} if an error occurs during file writing.
+     * Commits changes made to the repositories by serializing entities to their corresponding JSON files.
+     * With the write-ahead log enabled, this is a checkpoint folding the logs into the JSON files; it also runs
+     * periodically in the background.
+     * Only repositories with entities added or removed since the last commit are written; repositories that were
+     * never accessed or have not changed are skipped.
+     * The files written by one commit hold a single version of all repositories: updates are held back only while
+     * the checkpoints of the repositories begin, and in the concurrent mode they go on while the files are written.
+     * Each file is replaced atomically, so a failed commit leaves the previous version intact.
+     * Throws a {@code JsonFileIOException} if an error occurs during file writing; the other files are written
+     * regardless.
      */
-    public void commit() {
-        serializeEntities(bookJsonRepositoryImpl.getPath(), bookJsonRepositoryImpl.findAll());
-        serializeEntities(categoryJsonRepositoryImpl.getPath(), categoryJsonRepositoryImpl.findAll());
-        serializeEntities(libraryJsonRepositoryImpl.getPath(), libraryJsonRepositoryImpl.findAll());
-        serializeEntities(loanJsonRepositoryImpl.getPath(), loanJsonRepositoryImpl.findAll());
-        serializeEntities(reviewJsonRepositoryImpl.getPath(), reviewJsonRepositoryImpl.findAll());
-        serializeEntities(userJsonRepositoryImpl.getPath(), userJsonRepositoryImpl.findAll());
+    public synchronized void commit() {
+        JsonFileIOException failure = null;
+        try {
+            for (Checkpoint<?> checkpoint : beginCheckpoints(repository -> true)) {
+                try {
+                    checkpoint.write();
+                } catch (JsonFileIOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        } finally {
+            releaseVersions();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        checkpointFailure = null;
+    }
+
+    /**
+     * Begins a transaction buffering changes to the repositories of this factory.
+     * Committing the transaction applies its changes and then writes the files of the repositories it changed.
+     *
+     * @return the new transaction
+     */
+    @Override
+    public Transaction begin() {
+        return new JsonTransaction(this);
+    }
+
+    /**
+     * Applies the changes of a transaction and writes the repositories it changed.
+     * No commit starts while the changes are applied, so a commit never writes part of a transaction, and
+     * repositories the transaction did not change are left to the next commit.
+     * All files are written before any of them replaces its predecessor, so a failed write leaves every file as
+     * it was; the changes are then undone and the repositories written by the next commit. The files are
+     * replaced one by one, though, so there is no atomicity across files: if a replacement fails or the process
+     * stops between two of them, some files hold the transaction and others do not. After a failure, the next
+     * commit rewrites all of them; after a crash, they stay as they are.
+     *
+     * @param transaction the transaction to commit
+     */
+    synchronized void commit(JsonTransaction transaction) {
+        List<Runnable> undo = transaction.apply();
+        List<Checkpoint<?>> checkpoints = beginCheckpoints(transaction::changes);
+        List<AtomicFileWriter.StagedFile> staged = new ArrayList<>();
+        try {
+            for (Checkpoint<?> checkpoint : checkpoints) {
+                staged.add(checkpoint.stage());
+            }
+            for (AtomicFileWriter.StagedFile file : staged) {
+                file.replaceTarget();
+            }
+        } catch (IOException e) {
+            checkpoints.forEach(Checkpoint::fail);
+            JsonTransaction.undo(undo);
+            throw saveFailed(e);
+        } finally {
+            releaseVersions();
+            for (AtomicFileWriter.StagedFile file : staged) {
+                try {
+                    file.discard();
+                } catch (IOException e) {
+                    // Temporary files are never read, so one left behind does no harm
+                }
+            }
+        }
+        checkpoints.forEach(Checkpoint::complete);
+    }
+
+    /**
+     * Checks whether a repository is one of the repositories of this factory.
+     *
+     * @param repository the repository to check
+     * @return {@code true} if the repository belongs to this factory, {@code false} otherwise
+     */
+    boolean owns(GenericJsonRepository<?> repository) {
+        return loadedRepositories().contains(repository);
+    }
+
+    /**
+     * Lists the repositories that have been loaded, in a fixed order.
+     *
+     * @return the list of loaded repositories
+     */
+    List<GenericJsonRepository<?>> loadedRepositories() {
+        return repositories().stream()
+            .<GenericJsonRepository<?>>flatMap(holder -> holder.getIfLoaded().stream())
+            .toList();
+    }
+
+    /**
+     * Begins the checkpoints of the changed repositories among the ones to write, fixing the versions to write.
+     * All loaded repositories are locked together, so the versions are consistent with each other, and the
+     * versions of the repositories left unwritten are fixed too: the written files reference their entities only
+     * if they belong to those versions. With the normalized format, the repositories the written ones reference
+     * are loaded beforehand, so their versions are fixed as well.
+     *
+     * @param written whether a repository is written if it has changes
+     * @return the checkpoints of the repositories to write, in the order of {@link #loadedRepositories()}
+     */
+    private List<Checkpoint<?>> beginCheckpoints(Predicate<GenericJsonRepository<?>> written) {
+        for (GenericJsonRepository<?> repository : loadedRepositories()) {
+            if (written.test(repository) && repository.isDirty()
+                && repository.getFormat() instanceof NormalizedJsonSnapshotFormat normalized) {
+                normalized.loadReferenced(repository.getEntityType());
+            }
+        }
+        List<GenericJsonRepository<?>> repositories = loadedRepositories();
+        List<Checkpoint<?>> checkpoints = new ArrayList<>();
+        repositories.forEach(repository -> repository.writeLock().lock());
+        try {
+            for (GenericJsonRepository<?> repository : repositories) {
+                if (written.test(repository) && repository.isDirty()) {
+                    checkpoints.add(new Checkpoint<>(repository));
+                } else {
+                    repository.fixVersion();
+                }
+            }
+        } finally {
+            repositories.forEach(repository -> repository.writeLock().unlock());
+        }
+        return checkpoints;
+    }
+
+    /**
+     * Releases the versions fixed by {@link #beginCheckpoints(Predicate)} once the commit has written its files.
+     */
+    private void releaseVersions() {
+        loadedRepositories().forEach(GenericJsonRepository::releaseVersion);
+    }
+
+    /**
+     * Periodically folds the write-ahead logs into the JSON snapshots.
+     * Errors are kept for {@link #getCheckpointFailure()} and retried on the next run instead of stopping the
+     * schedule.
+     */
+    private void scheduleCheckpoints() {
+        long interval = Long.getLong(CHECKPOINT_INTERVAL_PROPERTY, 60);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                commit();
+            } catch (RuntimeException e) {
+                checkpointFailure = e;
+            }
+        }, interval, interval, TimeUnit.SECONDS);
     }
 
     // Serialize entities to JSON and write to corresponding files
 
+    private static JsonFileIOException saveFailed(IOException e) {
+        return new JsonFileIOException("Failed to save data to the json file. Details: %s".formatted(e.getMessage()));
+    }
+
     /**
-     * Serializes the collection of entities to JSON format and writes to the specified file.
-     * Clears the content of the file before writing the updated data.
-     * Throws a {@code JsonFileIOException} if an error occurs during file writing.
+     * Checkpoint of a repository: the version of its entities to write to the repository file.
+     * With the write-ahead log enabled, completing the checkpoint discards the log records folded into the file.
      *
-     * @param path     the path to the file
-     * @param entities the collection of entities to serialize and save
-     * @param <E>      the type of entities
+     * @param <E> the type of entities
      */
-    private <E extends Entity> void serializeEntities(Path path, Set<E> entities) {
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            // Clear the file content before saving!
-            writer.write("");
-            // Convert the collection of entities to JSON and write to the file
-            gson.toJson(entities, writer);
+    private static final class Checkpoint<E extends Entity> {
 
-        } catch (IOException e) {
-            throw new JsonFileIOException("Failed to save data to the json file. Details: %s"
-                .formatted(e.getMessage()));
+        private final GenericJsonRepository<E> repository;
+        private final Supplier<Set<E>> snapshot;
+
+        Checkpoint(GenericJsonRepository<E> repository) {
+            this.repository = repository;
+            // The dirty flag is cleared first so changes made while writing are picked up by the next commit
+            this.snapshot = repository.beginCheckpoint();
+        }
+
+        /**
+         * Serializes the version in the snapshot format of the repository and atomically replaces the repository
+         * file with it, completing the checkpoint.
+         * Throws a {@code JsonFileIOException} if an error occurs during file writing; the file keeps its
+         * previous content and the changes are written by the next commit.
+         */
+        void write() {
+            try {
+                AtomicFileWriter.write(repository.getPath(), this::serialize);
+            } catch (IOException e) {
+                fail();
+                throw saveFailed(e);
+            }
+            complete();
+        }
+
+        /**
+         * Serializes the version next to the repository file without replacing it yet.
+         *
+         * @return the written file, to replace the repository file with
+         * @throws IOException if an error occurs during file writing
+         */
+        AtomicFileWriter.StagedFile stage() throws IOException {
+            return AtomicFileWriter.stage(repository.getPath(), this::serialize);
+        }
+
+        void complete() {
+            repository.completeCheckpoint();
+        }
+
+        void fail() {
+            repository.failCheckpoint();
+        }
+
+        private void serialize(OutputStream out) throws IOException {
+            repository.getFormat().write(out, snapshot.get(), repository.getEntityType());
         }
     }
 
@@ -193,6 +534,21 @@ public class JsonRepositoryFactory extends RepositoryFactory {
         /**
          * The singleton instance of {@code JsonRepositoryFactory}.
          */
-        public static final JsonRepositoryFactory INSTANCE = new JsonRepositoryFactory();
+        public static final JsonRepositoryFactory INSTANCE = new JsonRepositoryFactory(
+            (gson, linker) -> Boolean.getBoolean(NORMALIZED_PROPERTY)
+                ? new NormalizedJsonSnapshotFormat(gson, linker)
+                : new JsonSnapshotFormat(gson, linker));
+    }
+
+    /**
+     * Holder for lazy initialization of the singleton instance backed by binary snapshot files.
+     */
+    private static class BinaryInstanceHolder {
+
+        /**
+         * The singleton instance of {@code JsonRepositoryFactory} using {@link BinarySnapshotFormat}.
+         */
+        public static final JsonRepositoryFactory INSTANCE = new JsonRepositoryFactory(
+            (gson, linker) -> new BinarySnapshotFormat());
     }
 }
@@ -0,0 +1,167 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Snapshot format storing entities as a JSON array through Gson.
+ * Created with a {@link ReferenceLinker}, it resolves the entities associated with the read ones to the entities
+ * stored in the other repositories before returning them. The associated entities of repositories not loaded yet
+ * are resolved once those are loaded, so reading a file never reads another one.
+ */
+public class JsonSnapshotFormat implements SnapshotFormat {
+
+    private final Gson gson;
+    private final ReferenceLinker linker;
+
+    /**
+     * Constructs a new instance of {@code JsonSnapshotFormat} keeping the associated entities it reads.
+     *
+     * @param gson The Gson instance for JSON serialization/deserialization.
+     */
+    public JsonSnapshotFormat(Gson gson) {
+        this(gson, null);
+    }
+
+    /**
+     * Constructs a new instance of {@code JsonSnapshotFormat} sharing the associated entities with the
+     * repositories of a factory.
+     *
+     * @param gson   The Gson instance for JSON serialization/deserialization.
+     * @param linker The linker resolving associations to the stored entities, or {@code null} to keep the read ones.
+     */
+    JsonSnapshotFormat(Gson gson, ReferenceLinker linker) {
+        this.gson = gson;
+        this.linker = linker;
+    }
+
+    /**
+     * Get the Gson instance used by the format.
+     *
+     * @return The Gson instance.
+     */
+    protected Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Get the linker resolving associations to the stored entities.
+     *
+     * @return The linker, or {@code null} if the read entities are kept as they are.
+     */
+    ReferenceLinker getLinker() {
+        return linker;
+    }
+
+    @Override
+    public Path resolve(Path jsonPath) {
+        return jsonPath;
+    }
+
+    /**
+     * Reads the entities from the JSON file in a single streaming pass.
+     * Each array element is deserialized straight from a buffered reader, so the raw file content is never held in memory.
+     * The associations of the read entities are then linked, before any repository stores them.
+     *
+     * @param path       The path to the JSON file.
+     * @param entityType The class of the stored entities.
+     * @param <E>        The type of the stored entities.
+     * @return The set of read entities.
+     * @throws IOException Exception during input/output operations.
+     */
+    @Override
+    public <E extends Entity> Set<E> read(Path path, Class<E> entityType) throws IOException {
+        Set<E> loaded;
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(path))) {
+            loaded = isEmptyDocument(reader) ? new HashSet<>() : readEntities(reader, entityType);
+        } catch (EOFException | MalformedJsonException | JsonParseException | IllegalStateException e) {
+            throw new JsonFileIOException("The file %s contains malformed JSON. Details: %s"
+                .formatted(path.getFileName(), e.getMessage()));
+        }
+        return linker == null ? loaded : linkLoaded(path, loaded, entityType);
+    }
+
+    /**
+     * Resolves the associations of the entities read from a file to the stored entities.
+     * Associated entities missing from their repositories, or whose repositories are not loaded yet, are kept as
+     * they were read.
+     *
+     * @param path       The path to the JSON file.
+     * @param loaded     The read entities.
+     * @param entityType The class of the stored entities.
+     * @param <E>        The type of the stored entities.
+     * @return The entities to store.
+     */
+    <E extends Entity> Set<E> linkLoaded(Path path, Set<E> loaded, Class<E> entityType) {
+        return linker.link(loaded, entityType, Set.of(), false).entities();
+    }
+
+    @Override
+    public <E extends Entity> E link(E entity, Class<E> entityType) {
+        return linker == null ? entity : linker.link(entity, entityType, false);
+    }
+
+    @Override
+    public <E extends Entity> void write(OutputStream out, Set<E> entities, Class<E> entityType) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        gson.toJson(entities, writer);
+        writer.flush();
+    }
+
+    /**
+     * Reads a JSON array of entities element by element and checks that nothing follows it.
+     *
+     * @param reader     The reader positioned at the start of the document.
+     * @param entityType The class of the stored entities.
+     * @param <E>        The type of the stored entities.
+     * @return The set of read entities.
+     * @throws IOException Exception during input/output operations or on malformed JSON.
+     */
+    private <E extends Entity> Set<E> readEntities(JsonReader reader, Class<E> entityType) throws IOException {
+        Set<E> loaded = new HashSet<>();
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+        } else {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                loaded.add(gson.fromJson(reader, entityType));
+            }
+            reader.endArray();
+        }
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new MalformedJsonException("Unexpected content after the end of the array.");
+        }
+        return loaded;
+    }
+
+    /**
+     * Checks whether the JSON document has no content at all.
+     *
+     * @param reader The reader positioned at the start of the document.
+     * @return {@code true} if the document is empty, {@code false} otherwise.
+     * @throws IOException Exception during input/output operations.
+     */
+    private boolean isEmptyDocument(JsonReader reader) throws IOException {
+        try {
+            return reader.peek() == JsonToken.END_DOCUMENT;
+        } catch (EOFException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.exception.EntityArgumentException;
+import com.sangarius.oop.library.persistence.repository.Repository;
+import com.sangarius.oop.library.persistence.repository.Transaction;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Transaction of {@link JsonRepositoryFactory}.
+ * Changes are buffered per repository, so adding and then removing an entity, or the other way round, keeps
+ * only the last change of its ID.
+ */
+class JsonTransaction implements Transaction {
+
+    private final JsonRepositoryFactory factory;
+    private final Map<GenericJsonRepository<?>, Changes<?>> changes = new LinkedHashMap<>();
+    private boolean open = true;
+
+    /**
+     * Constructs a new instance of {@code JsonTransaction}.
+     *
+     * @param factory The factory owning the repositories changed by the transaction.
+     */
+    JsonTransaction(JsonRepositoryFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public <E extends Entity> void add(Repository<E> repository, E entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Cannot add a null entity.");
+        }
+        changesOf(repository).add(entity);
+    }
+
+    @Override
+    public <E extends Entity> void remove(Repository<E> repository, E entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Cannot remove a null entity.");
+        }
+        changesOf(repository).remove(entity);
+    }
+
+    @Override
+    public void commit() {
+        checkOpen();
+        List<String> errors = new ArrayList<>();
+        changes.values().forEach(repositoryChanges -> repositoryChanges.validate(errors));
+        if (!errors.isEmpty()) {
+            throw new EntityArgumentException(errors);
+        }
+        factory.commit(this);
+        // Closed only once the batch is applied and saved, so a failed commit can be retried or rolled back
+        open = false;
+    }
+
+    @Override
+    public void rollback() {
+        checkOpen();
+        open = false;
+        changes.clear();
+    }
+
+    @Override
+    public void close() {
+        if (open) {
+            rollback();
+        }
+    }
+
+    /**
+     * Applies the buffered changes to their repositories.
+     * If applying fails part of the way, the repositories changed so far are restored.
+     *
+     * @return The actions undoing the changes, one per repository, in the order the changes were applied.
+     */
+    List<Runnable> apply() {
+        List<Runnable> undo = new ArrayList<>();
+        try {
+            for (Changes<?> repositoryChanges : changes.values()) {
+                undo.add(repositoryChanges.apply());
+            }
+        } catch (RuntimeException e) {
+            undo(undo);
+            throw e;
+        }
+        return undo;
+    }
+
+    /**
+     * Checks whether the transaction changes a repository.
+     *
+     * @param repository The repository to check.
+     * @return {@code true} if the transaction adds or removes entities of the repository, {@code false} otherwise.
+     */
+    boolean changes(GenericJsonRepository<?> repository) {
+        return changes.containsKey(repository);
+    }
+
+    /**
+     * Runs the actions undoing applied changes in reverse order.
+     *
+     * @param undo The actions returned by {@link #apply()}.
+     */
+    static void undo(List<Runnable> undo) {
+        for (int i = undo.size() - 1; i >= 0; i--) {
+            undo.get(i).run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Entity> Changes<E> changesOf(Repository<E> repository) {
+        checkOpen();
+        if (!(repository instanceof GenericJsonRepository<E> jsonRepository) || !factory.owns(jsonRepository)) {
+            throw new IllegalArgumentException("The repository does not belong to the factory of the transaction.");
+        }
+        return (Changes<E>) changes.computeIfAbsent(jsonRepository, Changes::new);
+    }
+
+    private void checkOpen() {
+        if (!open) {
+            throw new IllegalStateException("The transaction is already committed or rolled back.");
+        }
+    }
+
+    /**
+     * Changes buffered for one repository, keyed by entity ID.
+     *
+     * @param <E> The type of the entities.
+     */
+    private static class Changes<E extends Entity> {
+
+        private final GenericJsonRepository<E> repository;
+        private final Map<UUID, E> additions = new LinkedHashMap<>();
+        private final Map<UUID, E> removals = new LinkedHashMap<>();
+
+        Changes(GenericJsonRepository<E> repository) {
+            this.repository = repository;
+        }
+
+        void add(E entity) {
+            removals.remove(entity.getId());
+            additions.put(entity.getId(), entity);
+        }
+
+        void remove(E entity) {
+            additions.remove(entity.getId());
+            removals.put(entity.getId(), entity);
+        }
+
+        void validate(List<String> errors) {
+            for (E entity : additions.values()) {
+                if (!entity.isValid()) {
+                    errors.add("%s %s: %s".formatted(entity.getClass().getSimpleName(), entity.getId(),
+                        String.join(" ", entity.getErrors())));
+                }
+            }
+        }
+
+        Runnable apply() {
+            return repository.applyBatch(additions.values(), removals.values());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Holder that creates a repository on first access.
+ * Creation is thread-safe and happens at most once.
+ *
+ * @param <R> The type of the held repository.
+ */
+public class LazyRepository<R extends GenericJsonRepository<?>> {
+
+    private final Supplier<R> loader;
+    private final Runnable afterLoad;
+    private volatile R repository;
+
+    /**
+     * Constructs a new instance of {@code LazyRepository}.
+     *
+     * @param loader The supplier creating and loading the repository.
+     */
+    public LazyRepository(Supplier<R> loader) {
+        this(loader, () -> { });
+    }
+
+    /**
+     * Constructs a new instance of {@code LazyRepository} running an action once the repository is published.
+     *
+     * @param loader    The supplier creating and loading the repository.
+     * @param afterLoad The action run by the loading thread once {@link #getIfLoaded()} returns the repository.
+     */
+    public LazyRepository(Supplier<R> loader, Runnable afterLoad) {
+        this.loader = loader;
+        this.afterLoad = afterLoad;
+    }
+
+    /**
+     * Get the repository, loading it if this is the first access.
+     *
+     * @return The loaded repository.
+     */
+    public R get() {
+        R result = repository;
+        if (result == null) {
+            boolean loaded = false;
+            synchronized (this) {
+                result = repository;
+                if (result == null) {
+                    result = loader.get();
+                    repository = result;
+                    loaded = true;
+                }
+            }
+            if (loaded) {
+                afterLoad.run();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the repository only if it has already been loaded.
+     *
+     * @return An optional containing the repository, or empty if it was never accessed.
+     */
+    public Optional<R> getIfLoaded() {
+        return Optional.ofNullable(repository);
+    }
+}
@@ -1,8 +1,8 @@
 package com.sangarius.oop.library.persistence.repository.impl.json;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.sangarius.oop.library.persistence.entity.impl.Library;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.contracts.LibraryRepository;
 
 import java.util.Set;
@@ -11,15 +11,32 @@ import java.util.stream.Collectors;
 /**
  * JSON implementation of the Library repository.
  */
-public class LibraryJsonRepositoryImpl extends GenericJsonRepository<Library> implements LibraryRepository {
+public final class LibraryJsonRepositoryImpl extends GenericJsonRepository<Library> implements LibraryRepository {
+
+    private final HashIndex<String, Library> nameIndex;
+    private final HashIndex<String, Library> addressIndex;
+    private final HashIndex<String, Library> emailIndex;
 
     /**
-     * Constructs a new instance of {@code LibraryJsonRepositoryImpl}.
+     * Constructs a new instance of {@code LibraryJsonRepositoryImpl} backed by a JSON file.
      *
      * @param gson The Gson instance for JSON serialization/deserialization.
      */
     public LibraryJsonRepositoryImpl(Gson gson) {
-        super(gson, JsonPathFactory.LIBRARIES.getPath(), new TypeToken<Set<Library>>() {}.getType());
+        this(gson, new JsonSnapshotFormat(gson));
+    }
+
+    /**
+     * Constructs a new instance of {@code LibraryJsonRepositoryImpl} backed by a snapshot file in the given format.
+     *
+     * @param gson   The Gson instance for JSON serialization/deserialization.
+     * @param format The format of the snapshot file.
+     */
+    public LibraryJsonRepositoryImpl(Gson gson, SnapshotFormat format) {
+        super(gson, format, JsonPathFactory.LIBRARIES.getPath(), Library.class);
+        this.nameIndex = createHashIndex(Library::getName);
+        this.addressIndex = createHashIndex(Library::getAddress);
+        this.emailIndex = createHashIndex(Library::getEmail);
     }
 
     /**
@@ -29,10 +46,7 @@ public class LibraryJsonRepositoryImpl extends GenericJsonRepository<Library> im
      * @return The library with the specified name, or null if not found.
      */
     public Library findByName(String name) {
-        return entities.stream()
-            .filter(library -> name.equals(library.getName()))
-            .findFirst()
-            .orElse(null);
+        return nameIndex.findFirst(name).orElse(null);
     }
 
     /**
@@ -42,9 +56,7 @@ public class LibraryJsonRepositoryImpl extends GenericJsonRepository<Library> im
      * @return A set of libraries at the specified address.
      */
     public Set<Library> findAllByAddress(String address) {
-        return entities.stream()
-            .filter(library -> address.equals(library.getAddress()))
-            .collect(Collectors.toSet());
+        return addressIndex.find(address);
     }
 
     /**
@@ -65,9 +77,27 @@ public class LibraryJsonRepositoryImpl extends GenericJsonRepository<Library> im
      * @return The library with the specified email, or null if not found.
      */
     public Library findByEmail(String email) {
-        return entities.stream()
-            .filter(library -> email.equals(library.getEmail()))
-            .findFirst()
-            .orElse(null);
+        return emailIndex.findFirst(email).orElse(null);
+    }
+
+    /**
+     * Queries libraries with loans, filtering them lazily.
+     *
+     * @return A lazy result of libraries with loans.
+     */
+    @Override
+    public QueryResult<Library> queryByLoans() {
+        return query(library -> !library.getLoans().isEmpty());
+    }
+
+    /**
+     * Queries libraries by address without copying them.
+     *
+     * @param address The address to search for.
+     * @return A lazy result of libraries with the specified address.
+     */
+    @Override
+    public QueryResult<Library> queryByAddress(String address) {
+        return addressIndex.query(address);
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.EntityRestorer;
+import com.sangarius.oop.library.persistence.entity.impl.Library;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streaming type adapter of {@link Library}.
+ * A library stored without some of its lists is read with those lists empty.
+ */
+class LibraryTypeAdapter extends EntityTypeAdapter<Library> {
+
+    private final TypeAdapter<Book> bookAdapter;
+    private final TypeAdapter<User> userAdapter;
+    private final TypeAdapter<Loan> loanAdapter;
+
+    /**
+     * Constructs a new instance of {@code LibraryTypeAdapter}.
+     *
+     * @param gson The Gson instance providing the adapters of the associated entities.
+     */
+    LibraryTypeAdapter(Gson gson) {
+        this.bookAdapter = gson.getAdapter(Book.class);
+        this.userAdapter = gson.getAdapter(User.class);
+        this.loanAdapter = gson.getAdapter(Loan.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, Library library) throws IOException {
+        out.beginObject();
+        writeId(out, library.getId());
+        out.name("name").value(library.getName());
+        out.name("address").value(library.getAddress());
+        out.name("email").value(library.getEmail());
+        writeList(out, "books", library.getBooks(), bookAdapter);
+        writeList(out, "users", library.getUsers(), userAdapter);
+        writeList(out, "loans", library.getLoans(), loanAdapter);
+        out.endObject();
+    }
+
+    @Override
+    public Library read(JsonReader in) throws IOException {
+        UUID id = null;
+        String name = null;
+        String address = null;
+        String email = null;
+        List<Book> books = List.of();
+        List<User> users = List.of();
+        List<Loan> loans = List.of();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readId(in);
+                case "name" -> name = readString(in);
+                case "address" -> address = readString(in);
+                case "email" -> email = readString(in);
+                case "books" -> books = readList(in, bookAdapter);
+                case "users" -> users = readList(in, userAdapter);
+                case "loans" -> loans = readList(in, loanAdapter);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        Library library = EntityRestorer.library(id, name, address, email);
+        library.getBooks().addAll(books);
+        library.getUsers().addAll(users);
+        library.getLoans().addAll(loans);
+        return library;
+    }
+}
@@ -1,28 +1,51 @@
 package com.sangarius.oop.library.persistence.repository.impl.json;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.sangarius.oop.library.persistence.entity.impl.Book;
 import com.sangarius.oop.library.persistence.entity.impl.Loan;
 import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.repository.Page;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.contracts.LoanRepository;
 
 import java.time.LocalDate;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 /**
  * JSON implementation of the Loan repository.
  */
-public class LoanJsonRepositoryImpl extends GenericJsonRepository<Loan> implements LoanRepository {
+public final class LoanJsonRepositoryImpl extends GenericJsonRepository<Loan> implements LoanRepository {
+
+    private final HashIndex<UUID, Loan> borrowerIndex;
+    private final HashIndex<UUID, Loan> bookIndex;
+    private final SortedIndex<LocalDate, Loan> loanDateIndex;
+    private final SortedIndex<LocalDate, Loan> dueDateIndex;
 
     /**
-     * Constructs a new instance of {@code LoanJsonRepositoryImpl}.
+     * Constructs a new instance of {@code LoanJsonRepositoryImpl} backed by a JSON file.
      *
      * @param gson The Gson instance for JSON serialization/deserialization.
      */
     public LoanJsonRepositoryImpl(Gson gson) {
-        super(gson, JsonPathFactory.LOANS.getPath(), new TypeToken<Set<Loan>>() {}.getType());
+        this(gson, new JsonSnapshotFormat(gson));
+    }
+
+    /**
+     * Constructs a new instance of {@code LoanJsonRepositoryImpl} backed by a snapshot file in the given format.
+     *
+     * @param gson   The Gson instance for JSON serialization/deserialization.
+     * @param format The format of the snapshot file.
+     */
+    public LoanJsonRepositoryImpl(Gson gson, SnapshotFormat format) {
+        super(gson, format, JsonPathFactory.LOANS.getPath(), Loan.class);
+        this.borrowerIndex = createHashIndex(
+            loan -> loan.getBorrower() == null ? null : loan.getBorrower().getId());
+        this.bookIndex = createHashIndex(
+            loan -> loan.getBorrowedBook() == null ? null : loan.getBorrowedBook().getId());
+        this.loanDateIndex = createSortedIndex(Loan::getLoanDate);
+        this.dueDateIndex = createSortedIndex(Loan::getDueDate);
     }
 
     /**
@@ -33,9 +56,7 @@ public class LoanJsonRepositoryImpl extends GenericJsonRepository<Loan> implemen
      */
     @Override
     public Set<Loan> findAllByBorrower(User borrower) {
-        return entities.stream()
-            .filter(loan -> borrower.equals(loan.getBorrower()))
-            .collect(Collectors.toSet());
+        return borrowerIndex.find(borrower.getId());
     }
 
     /**
@@ -46,9 +67,7 @@ public class LoanJsonRepositoryImpl extends GenericJsonRepository<Loan> implemen
      */
     @Override
     public Set<Loan> findAllByLoanDate(LocalDate loanDate) {
-        return entities.stream()
-            .filter(loan -> loanDate.equals(loan.getLoanDate()))
-            .collect(Collectors.toSet());
+        return loanDateIndex.find(loanDate);
     }
 
     /**
@@ -59,9 +78,7 @@ public class LoanJsonRepositoryImpl extends GenericJsonRepository<Loan> implemen
      */
     @Override
     public Set<Loan> findAllByDueDate(LocalDate dueDate) {
-        return entities.stream()
-            .filter(loan -> dueDate.equals(loan.getDueDate()))
-            .collect(Collectors.toSet());
+        return dueDateIndex.find(dueDate);
     }
 
     /**
@@ -72,8 +89,131 @@ public class LoanJsonRepositoryImpl extends GenericJsonRepository<Loan> implemen
      */
     @Override
     public Set<Loan> findAllByBook(Book book) {
-        return entities.stream()
-            .filter(loan -> book.equals(loan.getBorrowedBook()))
-            .collect(Collectors.toSet());
+        return bookIndex.find(book.getId());
+    }
+
+    /**
+     * Finds all loans made within a date range, both bounds included.
+     *
+     * @param from The first loan date of the range.
+     * @param to   The last loan date of the range.
+     * @return A set of loans made within the specified range.
+     */
+    @Override
+    public Set<Loan> findAllByLoanDateBetween(LocalDate from, LocalDate to) {
+        return loanDateIndex.findBetween(from, true, to, true);
+    }
+
+    /**
+     * Finds all loans due within a date range, both bounds included.
+     *
+     * @param from The first due date of the range.
+     * @param to   The last due date of the range.
+     * @return A set of loans due within the specified range.
+     */
+    @Override
+    public Set<Loan> findAllByDueDateBetween(LocalDate from, LocalDate to) {
+        return dueDateIndex.findBetween(from, true, to, true);
+    }
+
+    /**
+     * Finds all loans whose due date is before the given date.
+     *
+     * @param date The date to check the due dates against.
+     * @return A set of loans overdue as of the specified date.
+     */
+    @Override
+    public Set<Loan> findAllOverdueAsOf(LocalDate date) {
+        return dueDateIndex.findBefore(date, false);
+    }
+
+    /**
+     * Queries loans by the borrower without copying them.
+     *
+     * @param borrower The borrower.
+     * @return A lazy result of loans associated with the specified borrower.
+     */
+    @Override
+    public QueryResult<Loan> queryByBorrower(User borrower) {
+        return borrowerIndex.query(borrower.getId());
+    }
+
+    /**
+     * Queries loans by the book without copying them.
+     *
+     * @param book The book.
+     * @return A lazy result of loans associated with the specified book.
+     */
+    @Override
+    public QueryResult<Loan> queryByBook(Book book) {
+        return bookIndex.query(book.getId());
+    }
+
+    /**
+     * Queries loans by the loan date without copying them.
+     *
+     * @param loanDate The date when the loans were made.
+     * @return A lazy result of loans made on the specified date.
+     */
+    @Override
+    public QueryResult<Loan> queryByLoanDate(LocalDate loanDate) {
+        return loanDateIndex.query(loanDate);
+    }
+
+    /**
+     * Queries loans by the due date without copying them.
+     *
+     * @param dueDate The due date for returning the books.
+     * @return A lazy result of loans with the specified due date.
+     */
+    @Override
+    public QueryResult<Loan> queryByDueDate(LocalDate dueDate) {
+        return dueDateIndex.query(dueDate);
+    }
+
+    /**
+     * Queries loans made within a date range, both bounds included, in ascending loan date order.
+     *
+     * @param from The first loan date of the range.
+     * @param to   The last loan date of the range.
+     * @return A lazy result of loans made within the specified range.
+     */
+    @Override
+    public QueryResult<Loan> queryByLoanDateBetween(LocalDate from, LocalDate to) {
+        return loanDateIndex.queryBetween(from, true, to, true);
+    }
+
+    /**
+     * Queries loans due within a date range, both bounds included, in ascending due date order.
+     *
+     * @param from The first due date of the range.
+     * @param to   The last due date of the range.
+     * @return A lazy result of loans due within the specified range.
+     */
+    @Override
+    public QueryResult<Loan> queryByDueDateBetween(LocalDate from, LocalDate to) {
+        return dueDateIndex.queryBetween(from, true, to, true);
+    }
+
+    /**
+     * Queries loans that are overdue as of the given date, in ascending due date order.
+     *
+     * @param date The date to check the due dates against.
+     * @return A lazy result of loans overdue as of the specified date.
+     */
+    @Override
+    public QueryResult<Loan> queryOverdueAsOf(LocalDate date) {
+        return dueDateIndex.queryBefore(date, false);
+    }
+
+    /**
+     * Retrieves one page of loans ordered by loan date through the sorted loan date index.
+     *
+     * @param request The requested page.
+     * @return A page of loans in the requested order of loan dates.
+     */
+    @Override
+    public Page<Loan> findPageByLoanDate(PageRequest request) {
+        return loanDateIndex.page(request);
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.EntityRestorer;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Streaming type adapter of {@link Loan}.
+ */
+class LoanTypeAdapter extends EntityTypeAdapter<Loan> {
+
+    private final TypeAdapter<LocalDate> dateAdapter;
+    private final TypeAdapter<User> userAdapter;
+    private final TypeAdapter<Book> bookAdapter;
+
+    /**
+     * Constructs a new instance of {@code LoanTypeAdapter}.
+     *
+     * @param gson The Gson instance providing the adapters of the dates and the associated entities.
+     */
+    LoanTypeAdapter(Gson gson) {
+        this.dateAdapter = gson.getAdapter(LocalDate.class);
+        this.userAdapter = gson.getAdapter(User.class);
+        this.bookAdapter = gson.getAdapter(Book.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, Loan loan) throws IOException {
+        out.beginObject();
+        writeId(out, loan.getId());
+        out.name("loanDate");
+        dateAdapter.write(out, loan.getLoanDate());
+        out.name("dueDate");
+        dateAdapter.write(out, loan.getDueDate());
+        out.name("borrower");
+        userAdapter.write(out, loan.getBorrower());
+        out.name("borrowedBook");
+        bookAdapter.write(out, loan.getBorrowedBook());
+        out.endObject();
+    }
+
+    @Override
+    public Loan read(JsonReader in) throws IOException {
+        UUID id = null;
+        LocalDate loanDate = null;
+        LocalDate dueDate = null;
+        User borrower = null;
+        Book borrowedBook = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readId(in);
+                case "loanDate" -> loanDate = dateAdapter.read(in);
+                case "dueDate" -> dueDate = dateAdapter.read(in);
+                case "borrower" -> borrower = userAdapter.read(in);
+                case "borrowedBook" -> borrowedBook = bookAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return EntityRestorer.loan(id, loanDate, dueDate, borrower, borrowedBook);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Streaming type adapter of {@link LocalDateTime} in the {@code dd-MM-yyyy HH:mm} format.
+ * Null values are handled by {@link TypeAdapter#nullSafe()}; other values not in the format are malformed JSON.
+ */
+class LocalDateTimeTypeAdapter extends TypeAdapter<LocalDateTime> {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")
+        .withLocale(Locale.of("uk", "UA"));
+
+    @Override
+    public void write(JsonWriter out, LocalDateTime dateTime) throws IOException {
+        out.value(FORMATTER.format(dateTime));
+    }
+
+    @Override
+    public LocalDateTime read(JsonReader in) throws IOException {
+        String value = in.nextString();
+        try {
+            return LocalDateTime.parse(value, FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new JsonParseException("Invalid date '%s' at %s".formatted(value, in.getPath()), e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Streaming type adapter of {@link LocalDate} in the {@code dd-MM-yyyy} format.
+ * Null values are handled by {@link TypeAdapter#nullSafe()}; other values not in the format are malformed JSON.
+ */
+class LocalDateTypeAdapter extends TypeAdapter<LocalDate> {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy")
+        .withLocale(Locale.of("uk", "UA"));
+
+    @Override
+    public void write(JsonWriter out, LocalDate date) throws IOException {
+        out.value(FORMATTER.format(date));
+    }
+
+    @Override
+    public LocalDate read(JsonReader in) throws IOException {
+        String value = in.nextString();
+        try {
+            return LocalDate.parse(value, FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new JsonParseException("Invalid date '%s' at %s".formatted(value, in.getPath()), e);
+        }
+    }
+}
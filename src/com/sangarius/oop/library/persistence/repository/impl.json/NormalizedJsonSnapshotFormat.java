@@ -0,0 +1,124 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON snapshot format storing associations between entities as UUID references.
+ * Each entity is written in full only in the file of its own repository; books, categories, loans and users
+ * held by other entities are written as their IDs, unless the version of their repository fixed by the same commit
+ * does not hold them. On load, {@link ReferenceLinker} resolves the IDs to the entities stored in the other
+ * repositories, reading their files if needed, and adds the entities embedded in full to their repositories; a
+ * reference to an entity missing from its repository fails the read. Reviews stay embedded in their books.
+ */
+public class NormalizedJsonSnapshotFormat extends JsonSnapshotFormat {
+
+    private static final Set<Class<? extends Entity>> REFERENCE_TYPES =
+        Set.of(Book.class, Category.class, Loan.class, User.class);
+
+    private final ReferenceTypeAdapterFactory references;
+    private final Set<Path> denormalizedFiles = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new instance of {@code NormalizedJsonSnapshotFormat}.
+     *
+     * @param gson   The Gson instance for JSON serialization/deserialization.
+     * @param linker The linker resolving the references to the entities stored in the other repositories.
+     */
+    NormalizedJsonSnapshotFormat(Gson gson, ReferenceLinker linker) {
+        this(gson, new ReferenceTypeAdapterFactory(REFERENCE_TYPES, linker::isStored), linker);
+    }
+
+    private NormalizedJsonSnapshotFormat(Gson gson, ReferenceTypeAdapterFactory references, ReferenceLinker linker) {
+        super(gson.newBuilder().registerTypeAdapterFactory(references).create(), linker);
+        this.references = references;
+    }
+
+    @Override
+    public <E extends Entity> Set<E> read(Path path, Class<E> entityType) throws IOException {
+        // Drops the ghosts of a read that failed on this thread
+        references.takeGhosts();
+        return super.read(path, entityType);
+    }
+
+    /**
+     * Resolves the references read from the JSON file, noting whether it still embeds associated entities in full.
+     *
+     * @param path       The path to the JSON file.
+     * @param loaded     The read entities.
+     * @param entityType The class of the stored entities.
+     * @param <E>        The type of the stored entities.
+     * @return The entities to store.
+     */
+    @Override
+    <E extends Entity> Set<E> linkLoaded(Path path, Set<E> loaded, Class<E> entityType) {
+        ReferenceLinker.Linked<E> linked = getLinker().link(loaded, entityType, references.takeGhosts(), true);
+        if (linked.embedsCopies()) {
+            denormalizedFiles.add(path);
+        }
+        return linked.entities();
+    }
+
+    @Override
+    public <E extends Entity> E link(E entity, Class<E> entityType) {
+        return getLinker().link(entity, entityType, true);
+    }
+
+    /**
+     * Writes the entities as a JSON array. The entities themselves are written in full, while the entities
+     * they hold are written as references if the versions of their repositories fixed by the commit hold them,
+     * and in full otherwise.
+     *
+     * @param out        The stream to write to.
+     * @param entities   The entities to write.
+     * @param entityType The class of the stored entities.
+     * @param <E>        The type of the stored entities.
+     * @throws IOException Exception during input/output operations.
+     */
+    @Override
+    public <E extends Entity> void write(OutputStream out, Set<E> entities, Class<E> entityType) throws IOException {
+        TypeAdapter<E> adapter = getGson().getDelegateAdapter(references, TypeToken.get(entityType));
+        JsonWriter writer = getGson().newJsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.beginArray();
+        for (E entity : entities) {
+            adapter.write(writer, entity);
+        }
+        writer.endArray();
+        writer.flush();
+    }
+
+    /**
+     * Loads the repositories referenced by the entities of a type before a commit writes them, see
+     * {@link ReferenceLinker#loadReferenced(Class)}.
+     *
+     * @param entityType The class of the written entities.
+     */
+    void loadReferenced(Class<? extends Entity> entityType) {
+        getLinker().loadReferenced(entityType);
+    }
+
+    /**
+     * Checks whether a file read by this format embedded associated entities in full instead of referencing them.
+     *
+     * @param path The path to the JSON file.
+     * @return {@code true} if the file should be rewritten in the normalized form, {@code false} otherwise.
+     */
+    boolean isDenormalized(Path path) {
+        return denormalizedFiles.contains(path);
+    }
+}
@@ -0,0 +1,392 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.Library;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+import com.sangarius.oop.library.persistence.repository.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the associations of entities read from a repository file to the entities stored in the repositories
+ * of the factory, so the user of a loan, the reviewer of a review and the entity stored in the user repository
+ * are the same object.
+ * Associations are resolved before the read entities are stored, so their indexes see them with their final
+ * associations. Resolving a reference, or a copy to be added to its repository, loads the repository of the
+ * associated entity. Associations only point from libraries to loans, from loans and reviews to books and users,
+ * and from books to categories and to the reviewers of their reviews, so a repository never waits for one that
+ * depends on it.
+ * A copy of an entity whose repository is not loaded yet, as written by the plain JSON files, is kept as it was
+ * read instead, so loading a repository does not load the ones it is associated with. Once that repository is
+ * loaded, {@link #linkDeferred()} resolves the kept copies in place and re-indexes the entities holding them.
+ * A copy of an entity its repository does not hold is kept, shared by all entities read together, and optionally
+ * added to that repository; a reference to such an entity is an error. Nothing is kept once the read entities are
+ * linked.
+ */
+class ReferenceLinker {
+
+    private final JsonRepositoryFactory factory;
+    private final Map<Class<?>, Set<Class<? extends Entity>>> deferred = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@code ReferenceLinker}.
+     *
+     * @param factory The factory providing the repositories to resolve associations from.
+     */
+    ReferenceLinker(JsonRepositoryFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Resolves the associations of entities read together, from one file or one log record, before their
+     * repository stores them.
+     *
+     * @param loaded      The read entities.
+     * @param entityType  The class of the read entities.
+     * @param ghosts      The entities read as bare references, holding only their IDs.
+     * @param storeCopies Whether copies of entities missing from their repository are added to it.
+     * @param <E>         The type of the read entities.
+     * @return The entities to store and whether the read ones embedded associated entities in full.
+     */
+    <E extends Entity> Linked<E> link(Collection<E> loaded, Class<E> entityType, Set<Entity> ghosts,
+                                      boolean storeCopies) {
+        Pass<E> pass = new Pass<>(entityType, loaded, ghosts, storeCopies);
+        Set<E> linked = new HashSet<>(loaded.size());
+        for (E entity : loaded) {
+            linked.add(entityType.cast(pass.link(entity)));
+        }
+        linked.addAll(pass.ownCopies);
+        return new Linked<>(linked, pass.embedsCopies);
+    }
+
+    /**
+     * Resolves the associations of an entity read on its own, such as a record of the write-ahead log, before its
+     * repository stores it.
+     *
+     * @param entity      The read entity.
+     * @param entityType  The class of the read entity.
+     * @param storeCopies Whether copies of entities missing from their repository are added to it.
+     * @param <E>         The type of the read entity.
+     * @return The entity to store.
+     */
+    <E extends Entity> E link(E entity, Class<E> entityType, boolean storeCopies) {
+        return entityType.cast(new Pass<>(entityType, List.of(entity), Set.of(), storeCopies).link(entity));
+    }
+
+    /**
+     * Loads the repositories of the entities that entities of a type hold associations to, so a commit writing
+     * them can fix their versions, see {@link #isStored(Entity)}.
+     *
+     * @param entityType The class of the written entities.
+     */
+    void loadReferenced(Class<? extends Entity> entityType) {
+        if (entityType == Book.class) {
+            repositoryOf(Category.class);
+            repositoryOf(User.class);
+        } else if (entityType == Loan.class || entityType == Review.class) {
+            repositoryOf(Book.class);
+            repositoryOf(User.class);
+        } else if (entityType == Library.class) {
+            repositoryOf(Book.class);
+            repositoryOf(User.class);
+            repositoryOf(Loan.class);
+        }
+    }
+
+    /**
+     * Checks whether an associated entity is stored in the file of its repository once the commit being written
+     * is done, so it can be written as a reference. The version of the repository fixed by the commit is checked
+     * rather than the live entities, which may change while the files are written.
+     *
+     * @param entity The associated entity of a type with a repository of its own.
+     * @return {@code true} if the version of its repository holds an entity with its ID, {@code false} otherwise.
+     */
+    boolean isStored(Entity entity) {
+        return ((GenericJsonRepository<?>) repositoryOf(entity.getClass())).isInVersion(entity.getId());
+    }
+
+    /**
+     * Links the associations kept as read because the repositories of the associated entities were not loaded,
+     * in every loaded repository whose associated repositories have been loaded since. Called each time a
+     * repository is loaded, once it is published, so either the repository holding the kept copies or the one
+     * they belong to finds the other loaded.
+     * The entities holding copies are changed in place under the write lock of their repository and re-indexed;
+     * a query running meanwhile may see an entity with either instance, both holding the same ID.
+     */
+    synchronized void linkDeferred() {
+        if (deferred.isEmpty()) {
+            return;
+        }
+        for (GenericJsonRepository<?> repository : factory.loadedRepositories()) {
+            Set<Class<? extends Entity>> types = deferred.get(repository.getEntityType());
+            if (types != null && types.removeIf(type -> loadedRepositoryOf(type).isPresent())) {
+                relink(repository);
+            }
+        }
+    }
+
+    private <E extends Entity> void relink(GenericJsonRepository<E> repository) {
+        List<E> relinked = new ArrayList<>();
+        repository.writeLock().lock();
+        try {
+            Set<E> entities = repository.findAll();
+            Pass<E> pass = new Pass<>(repository.getEntityType(), entities, Set.of(), false);
+            for (E entity : entities) {
+                pass.relinked = false;
+                pass.link(entity);
+                if (pass.relinked) {
+                    relinked.add(entity);
+                }
+            }
+            repository.reindex(relinked);
+        } finally {
+            repository.writeLock().unlock();
+        }
+    }
+
+    private <T extends Entity> Optional<Repository<T>> loadedRepositoryOf(Class<T> type) {
+        for (GenericJsonRepository<?> repository : factory.loadedRepositories()) {
+            if (repository.getEntityType() == type) {
+                @SuppressWarnings("unchecked")
+                Repository<T> loaded = (Repository<T>) repository;
+                return Optional.of(loaded);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Entity> Repository<T> repositoryOf(Class<T> type) {
+        if (type == Book.class) {
+            return (Repository<T>) factory.getBookRepository();
+        }
+        if (type == Category.class) {
+            return (Repository<T>) factory.getCategoryRepository();
+        }
+        if (type == Loan.class) {
+            return (Repository<T>) factory.getLoanRepository();
+        }
+        if (type == User.class) {
+            return (Repository<T>) factory.getUserRepository();
+        }
+        throw new IllegalArgumentException("No repository for " + type.getName());
+    }
+
+    /**
+     * Entities whose associations are resolved.
+     *
+     * @param entities     The entities to store.
+     * @param embedsCopies Whether the read entities held copies of associated entities instead of references.
+     * @param <E>          The type of the entities.
+     */
+    record Linked<E extends Entity>(Set<E> entities, boolean embedsCopies) {
+    }
+
+    /**
+     * A single linking of entities read together.
+     *
+     * @param <E> The type of the read entities.
+     */
+    private class Pass<E extends Entity> {
+
+        private final Class<E> ownType;
+        private final Map<UUID, E> own = new HashMap<>();
+        private final Set<Entity> ghosts;
+        private final boolean storeCopies;
+        private final Map<Class<?>, Map<UUID, Entity>> copies = new HashMap<>();
+        private final List<E> ownCopies = new ArrayList<>();
+        private final Map<Class<?>, Optional<? extends Repository<?>>> loaded = new HashMap<>();
+        private boolean embedsCopies;
+        private boolean relinked;
+
+        private Pass(Class<E> ownType, Collection<E> loaded, Set<Entity> ghosts, boolean storeCopies) {
+            this.ownType = ownType;
+            this.ghosts = ghosts;
+            this.storeCopies = storeCopies;
+            loaded.forEach(entity -> own.put(entity.getId(), entity));
+        }
+
+        /**
+         * Resolves the associations of a read entity.
+         *
+         * @param entity The read entity.
+         * @return The entity to store; a review is replaced by the same review listed by its book, if there is one.
+         */
+        private Entity link(Entity entity) {
+            if (entity instanceof Book book) {
+                linkBook(book);
+            } else if (entity instanceof Review review) {
+                return linkReview(review);
+            } else if (entity instanceof Loan loan) {
+                linkLoan(loan);
+            } else if (entity instanceof Library library) {
+                linkLibrary(library);
+            }
+            return entity;
+        }
+
+        private void linkBook(Book book) {
+            Category category = resolve(book.getCategory(), Category.class);
+            if (category != book.getCategory()) {
+                book.setCategory(category);
+                relinked = true;
+            }
+            if (book.getReviews() != null) {
+                book.getReviews().forEach(review -> linkListedReview(review, book));
+            }
+        }
+
+        private void linkListedReview(Review review, Book listingBook) {
+            User reviewer = resolve(review.getReviewer(), User.class);
+            if (reviewer != review.getReviewer()) {
+                review.setReviewer(reviewer);
+                relinked = true;
+            }
+            if (review.getBook() != listingBook) {
+                Book book = resolve(review.getBook(), Book.class);
+                if (book != review.getBook()) {
+                    review.setBook(book);
+                    relinked = true;
+                }
+            }
+        }
+
+        private Review linkReview(Review review) {
+            linkListedReview(review, null);
+            Book book = review.getBook();
+            if (book == null || book.getReviews() == null) {
+                return review;
+            }
+            // The listed instance is shared only if it holds the same state, so an update logged for either is kept
+            for (Review listed : book.getReviews()) {
+                if (listed.equals(review) && listed.getRating() == review.getRating()
+                    && listed.getReviewer() == review.getReviewer()
+                    && Objects.equals(listed.getReviewText(), review.getReviewText())) {
+                    return listed;
+                }
+            }
+            return review;
+        }
+
+        private void linkLoan(Loan loan) {
+            User borrower = resolve(loan.getBorrower(), User.class);
+            if (borrower != loan.getBorrower()) {
+                loan.setBorrower(borrower);
+                relinked = true;
+            }
+            Book borrowedBook = resolve(loan.getBorrowedBook(), Book.class);
+            if (borrowedBook != loan.getBorrowedBook()) {
+                loan.setBorrowedBook(borrowedBook);
+                relinked = true;
+            }
+        }
+
+        private void linkLibrary(Library library) {
+            if (library.getBooks() != null) {
+                resolveAll(library.getBooks(), Book.class);
+            }
+            if (library.getUsers() != null) {
+                resolveAll(library.getUsers(), User.class);
+            }
+            if (library.getLoans() != null) {
+                resolveAll(library.getLoans(), Loan.class);
+            }
+        }
+
+        /**
+         * Resolves a list of associated entities, replacing only the ones that change, so iterating the list
+         * meanwhile does not fail.
+         */
+        private <T extends Entity> void resolveAll(List<T> entities, Class<T> type) {
+            for (ListIterator<T> iterator = entities.listIterator(); iterator.hasNext(); ) {
+                T entity = iterator.next();
+                T resolved = resolve(entity, type);
+                if (resolved != entity) {
+                    iterator.set(resolved);
+                    relinked = true;
+                }
+            }
+        }
+
+        /**
+         * Resolves an associated entity to the entity stored in its repository.
+         * Entities of the type being read are resolved to the read ones. A copy that is not added to its
+         * repository is kept as it is if the repository is not loaded, and resolved by
+         * {@link #linkDeferred()} once it is; otherwise, the repository is loaded if needed. A copy of an entity
+         * missing from its repository is linked and kept, while a reference to such an entity fails the read.
+         *
+         * @param entity The associated entity.
+         * @param type   The class of the associated entity.
+         * @param <T>    The type of the associated entity.
+         * @return The stored entity.
+         */
+        private <T extends Entity> T resolve(T entity, Class<T> type) {
+            if (entity == null) {
+                return null;
+            }
+            boolean ghost = ghosts.contains(entity);
+            Optional<T> stored;
+            if (type == ownType) {
+                stored = Optional.ofNullable(type.cast(own.get(entity.getId())));
+            } else if (storeCopies || ghost) {
+                stored = repositoryOf(type).findById(entity.getId());
+            } else {
+                Optional<Repository<T>> repository = loadedRepository(type);
+                if (repository.isEmpty()) {
+                    deferred.computeIfAbsent(ownType, key -> ConcurrentHashMap.newKeySet()).add(type);
+                    return entity;
+                }
+                stored = repository.get().findById(entity.getId());
+            }
+            if (stored.isPresent()) {
+                if (!ghost && stored.get() != entity) {
+                    embedsCopies = true;
+                }
+                return stored.get();
+            }
+            if (ghost) {
+                throw new JsonFileIOException("A %s references the %s %s, which is missing from its repository."
+                    .formatted(ownType.getSimpleName(), type.getSimpleName(), entity.getId()));
+            }
+            Entity known = copies.computeIfAbsent(type, key -> new HashMap<>()).putIfAbsent(entity.getId(), entity);
+            if (known != null) {
+                return type.cast(known);
+            }
+            embedsCopies = true;
+            // Registered before linking, so associations leading back to the copy find it
+            link(entity);
+            if (storeCopies) {
+                if (type == ownType) {
+                    ownCopies.add(ownType.cast(entity));
+                } else {
+                    repositoryOf(type).add(entity);
+                }
+            }
+            return entity;
+        }
+
+        /**
+         * Gets the repository of a type if it is loaded, looked up once per pass.
+         */
+        @SuppressWarnings("unchecked")
+        private <T extends Entity> Optional<Repository<T>> loadedRepository(Class<T> type) {
+            return (Optional<Repository<T>>) loaded.computeIfAbsent(type, key -> loadedRepositoryOf(type));
+        }
+    }
+}
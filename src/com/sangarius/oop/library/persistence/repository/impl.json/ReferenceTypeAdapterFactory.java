@@ -0,0 +1,102 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.Entity;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Gson type adapter factory writing associated entities as references to their UUIDs.
+ * An entity its repository does not hold is written in full instead, so it is not lost; reading the file adds it to
+ * its repository.
+ * A reference is read back as a ghost of the entity holding only its ID, which {@link ReferenceLinker} resolves to
+ * the stored entity before the read entities are stored. Entities written in full by older files are still read
+ * as they are.
+ */
+class ReferenceTypeAdapterFactory implements TypeAdapterFactory {
+
+    /**
+     * Gson instance without the entity adapters. Ghosts hold only an ID and would fail the validation of the entity
+     * constructors, so they are allocated reflectively.
+     */
+    private static final Gson GHOST_GSON = new GsonBuilder()
+        .registerTypeAdapter(LocalDate.class, new LocalDateTypeAdapter().nullSafe())
+        .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeTypeAdapter().nullSafe())
+        .create();
+
+    private final Set<Class<? extends Entity>> referenceTypes;
+    private final Predicate<Entity> stored;
+    private final ThreadLocal<Set<Entity>> ghosts =
+        ThreadLocal.withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    /**
+     * Constructs a new instance of {@code ReferenceTypeAdapterFactory}.
+     *
+     * @param referenceTypes The entity types stored in repositories of their own and written as references.
+     * @param stored         The predicate checking whether an entity is stored in its repository.
+     */
+    ReferenceTypeAdapterFactory(Set<Class<? extends Entity>> referenceTypes, Predicate<Entity> stored) {
+        this.referenceTypes = referenceTypes;
+        this.stored = stored;
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!referenceTypes.contains(type.getRawType())) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Class<Entity> entityType = (Class<Entity>) type.getRawType();
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        return new TypeAdapter<>() {
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                if (value == null) {
+                    out.nullValue();
+                } else if (stored.test((Entity) value)) {
+                    out.value(((Entity) value).getId().toString());
+                } else {
+                    delegate.write(out, value);
+                }
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T read(JsonReader in) throws IOException {
+                if (in.peek() != JsonToken.STRING) {
+                    return delegate.read(in);
+                }
+                JsonObject reference = new JsonObject();
+                reference.addProperty("id", in.nextString());
+                Entity ghost = GHOST_GSON.fromJson(reference, entityType);
+                ghosts.get().add(ghost);
+                return (T) ghost;
+            }
+        };
+    }
+
+    /**
+     * Takes the ghosts read by the current thread since the last call.
+     *
+     * @return The identity set of the ghosts.
+     */
+    Set<Entity> takeGhosts() {
+        Set<Entity> read = ghosts.get();
+        ghosts.remove();
+        return read;
+    }
+}
@@ -1,27 +1,51 @@
 package com.sangarius.oop.library.persistence.repository.impl.json;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.sangarius.oop.library.persistence.entity.impl.Book;
 import com.sangarius.oop.library.persistence.entity.impl.Review;
 import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.repository.Page;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.contracts.ReviewRepository;
 
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 /**
  * JSON implementation of the Review repository.
  */
-public class ReviewJsonRepositoryImpl extends GenericJsonRepository<Review> implements ReviewRepository {
+public final class ReviewJsonRepositoryImpl extends GenericJsonRepository<Review> implements ReviewRepository {
+
+    private final HashIndex<UUID, Review> bookIndex;
+    private final HashIndex<UUID, Review> reviewerIndex;
+    private final SortedIndex<Integer, Review> ratingIndex;
+    private final TextIndex<Review> textIndex;
 
     /**
-     * Constructs a new instance of {@code ReviewJsonRepositoryImpl}.
+     * Constructs a new instance of {@code ReviewJsonRepositoryImpl} backed by a JSON file.
      *
      * @param gson The Gson instance for JSON serialization/deserialization.
      */
     public ReviewJsonRepositoryImpl(Gson gson) {
-        super(gson, JsonPathFactory.REVIEWS.getPath(), new TypeToken<Set<Review>>() {}.getType());
+        this(gson, new JsonSnapshotFormat(gson));
+    }
+
+    /**
+     * Constructs a new instance of {@code ReviewJsonRepositoryImpl} backed by a snapshot file in the given format.
+     *
+     * @param gson   The Gson instance for JSON serialization/deserialization.
+     * @param format The format of the snapshot file.
+     */
+    public ReviewJsonRepositoryImpl(Gson gson, SnapshotFormat format) {
+        super(gson, format, JsonPathFactory.REVIEWS.getPath(), Review.class);
+        this.bookIndex = createHashIndex(
+            review -> review.getBook() == null ? null : review.getBook().getId());
+        this.reviewerIndex = createHashIndex(
+            review -> review.getReviewer() == null ? null : review.getReviewer().getId());
+        this.ratingIndex = createSortedIndex(Review::getRating);
+        this.textIndex = createTextIndex(Review::getReviewText);
     }
 
     /**
@@ -32,9 +56,7 @@ public class ReviewJsonRepositoryImpl extends GenericJsonRepository<Review> impl
      */
     @Override
     public Set<Review> findAllByBook(Book book) {
-        return entities.stream()
-            .filter(review -> book.equals(review.getBook()))
-            .collect(Collectors.toSet());
+        return bookIndex.find(book.getId());
     }
 
     /**
@@ -45,9 +67,7 @@ public class ReviewJsonRepositoryImpl extends GenericJsonRepository<Review> impl
      */
     @Override
     public Set<Review> findAllByReviewer(User reviewer) {
-        return entities.stream()
-            .filter(review -> reviewer == review.getReviewer())
-            .collect(Collectors.toSet());
+        return reviewerIndex.find(reviewer.getId());
     }
 
     /**
@@ -58,8 +78,62 @@ public class ReviewJsonRepositoryImpl extends GenericJsonRepository<Review> impl
      */
     @Override
     public Set<Review> findAllByRating(int rating) {
-        return entities.stream()
-            .filter(review -> rating == review.getRating())
-            .collect(Collectors.toSet());
+        return ratingIndex.find(rating);
+    }
+
+    /**
+     * Queries reviews of a book without copying them.
+     *
+     * @param book The book to search for.
+     * @return A lazy result of reviews of the specified book.
+     */
+    @Override
+    public QueryResult<Review> queryByBook(Book book) {
+        return bookIndex.query(book.getId());
+    }
+
+    /**
+     * Queries reviews written by a user without copying them.
+     *
+     * @param reviewer The reviewer to search for.
+     * @return A lazy result of reviews written by the specified user.
+     */
+    @Override
+    public QueryResult<Review> queryByReviewer(User reviewer) {
+        return reviewerIndex.query(reviewer.getId());
+    }
+
+    /**
+     * Queries reviews with a rating without copying them.
+     *
+     * @param rating The rating to search for.
+     * @return A lazy result of reviews with the specified rating.
+     */
+    @Override
+    public QueryResult<Review> queryByRating(int rating) {
+        return ratingIndex.query(rating);
+    }
+
+    /**
+     * Retrieves one page of reviews ordered by rating through the sorted rating index.
+     *
+     * @param request The requested page.
+     * @return A page of reviews in the requested order of ratings.
+     */
+    @Override
+    public Page<Review> findPageByRating(PageRequest request) {
+        return ratingIndex.page(request);
+    }
+
+    /**
+     * Searches reviews by the words of their text through the full-text index.
+     *
+     * @param query The words to search for; the last one may be incomplete.
+     * @param limit The maximum number of reviews to return.
+     * @return The matching reviews, best match first.
+     */
+    @Override
+    public List<Review> search(String query, int limit) {
+        return textIndex.search(query, limit);
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.EntityRestorer;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Streaming type adapter of {@link Review}.
+ * A review listed by a book does not repeat that book; {@link BookTypeAdapter} reads such reviews with
+ * {@link #readFields(JsonReader)} and creates them once the book itself is created.
+ * <p>
+ * This changes the file format: a listed review of its own book has no {@code "book"} field. Versions reading
+ * the files by reflection load such a review with a {@code null} book. They could not write one at all, since
+ * the book and the review referenced each other, so only files written by this version have the shape. Reviews
+ * listed by another book and top-level reviews still embed their book, and files doing so for every review
+ * still load.
+ */
+class ReviewTypeAdapter extends EntityTypeAdapter<Review> {
+
+    private final TypeAdapter<User> userAdapter;
+    private final TypeAdapter<Book> bookAdapter;
+
+    /**
+     * Constructs a new instance of {@code ReviewTypeAdapter}.
+     *
+     * @param gson The Gson instance providing the adapters of the associated entities.
+     */
+    ReviewTypeAdapter(Gson gson) {
+        this.userAdapter = gson.getAdapter(User.class);
+        this.bookAdapter = gson.getAdapter(Book.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, Review review) throws IOException {
+        write(out, review, null);
+    }
+
+    /**
+     * Writes a review, omitting its book if the review is listed by that book.
+     *
+     * @param out           The writer to write to.
+     * @param review        The review to write.
+     * @param enclosingBook The book listing the review, or {@code null} for a top-level review.
+     * @throws IOException Exception during input/output operations.
+     */
+    void write(JsonWriter out, Review review, Book enclosingBook) throws IOException {
+        out.beginObject();
+        writeId(out, review.getId());
+        out.name("reviewText").value(review.getReviewText());
+        out.name("rating").value(review.getRating());
+        out.name("reviewer");
+        userAdapter.write(out, review.getReviewer());
+        if (review.getBook() != null && !review.getBook().equals(enclosingBook)) {
+            out.name("book");
+            bookAdapter.write(out, review.getBook());
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Review read(JsonReader in) throws IOException {
+        return readFields(in).toReview(null);
+    }
+
+    /**
+     * Reads the fields of a review without creating it yet.
+     *
+     * @param in The reader positioned at the review.
+     * @return The read fields.
+     * @throws IOException Exception during input/output operations.
+     */
+    ReviewFields readFields(JsonReader in) throws IOException {
+        UUID id = null;
+        String reviewText = null;
+        int rating = 0;
+        User reviewer = null;
+        Book book = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readId(in);
+                case "reviewText" -> reviewText = readString(in);
+                case "rating" -> rating = readInt(in);
+                case "reviewer" -> reviewer = userAdapter.read(in);
+                case "book" -> book = bookAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return new ReviewFields(id, reviewText, rating, reviewer, book);
+    }
+
+    /**
+     * Fields of a review read ahead of the book listing it.
+     *
+     * @param id         The ID of the review.
+     * @param reviewText The text of the review.
+     * @param rating     The rating of the review.
+     * @param reviewer   The reviewer.
+     * @param book       The book of the review, or {@code null} if omitted.
+     */
+    record ReviewFields(UUID id, String reviewText, int rating, User reviewer, Book book) {
+
+        /**
+         * Creates the review.
+         *
+         * @param enclosingBook The book listing the review, used if the review does not name its book.
+         * @return The created review.
+         */
+        Review toReview(Book enclosingBook) {
+            return EntityRestorer.review(id, reviewText, rating, reviewer, book == null ? enclosingBook : book);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * On-disk format of the repository snapshot files.
+ */
+public interface SnapshotFormat {
+
+    /**
+     * Get the snapshot file used for the given JSON file of an entity type.
+     *
+     * @param jsonPath The path to the JSON file from {@link JsonPathFactory}.
+     * @return The path to the snapshot file in this format.
+     */
+    Path resolve(Path jsonPath);
+
+    /**
+     * Reads all entities from a snapshot file. An empty file holds no entities.
+     *
+     * @param path       The path to the snapshot file.
+     * @param entityType The class of the stored entities.
+     * @param <E>        The type of the stored entities.
+     * @return The set of read entities.
+     * @throws IOException Exception during input/output operations.
+     * @throws com.sangarius.oop.library.persistence.exception.JsonFileIOException If the file is malformed.
+     */
+    <E extends Entity> Set<E> read(Path path, Class<E> entityType) throws IOException;
+
+    /**
+     * Writes all entities to a snapshot stream. The stream is flushed but not closed.
+     *
+     * @param out        The stream to write to.
+     * @param entities   The entities to write.
+     * @param entityType The class of the stored entities.
+     * @param <E>        The type of the stored entities.
+     * @throws IOException Exception during input/output operations.
+     */
+    <E extends Entity> void write(OutputStream out, Set<E> entities, Class<E> entityType) throws IOException;
+
+    /**
+     * Links an entity read outside the snapshot file, such as a record of the write-ahead log, the way the entities
+     * returned by {@link #read(Path, Class)} are linked. Formats that do not share associated entities between
+     * repositories return it as it is.
+     *
+     * @param entity     The read entity, not yet stored by its repository.
+     * @param entityType The class of the entity.
+     * @param <E>        The type of the entity.
+     * @return The entity to store.
+     */
+    default <E extends Entity> E link(E entity, Class<E> entityType) {
+        return entity;
+    }
+}
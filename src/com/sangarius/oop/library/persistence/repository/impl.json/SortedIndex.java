@@ -0,0 +1,191 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.repository.Page;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Secondary index keeping its keys in ascending order, so it answers both exact-match and range queries.
+ *
+ * @param <K> The type of the index key.
+ * @param <E> The type of entities stored in the index.
+ */
+public class SortedIndex<K extends Comparable<? super K>, E extends Entity> extends EntityIndex<K, E> {
+
+    /**
+     * Order of entities by ID, breaking ties between entities with the same sort key.
+     */
+    static final Comparator<Entity> BY_ID = Comparator.comparing(Entity::getId,
+        Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * Constructs a new instance of {@code SortedIndex}.
+     *
+     * @param keyExtractor The function extracting the index key from an entity.
+     */
+    public SortedIndex(Function<E, K> keyExtractor) {
+        this(keyExtractor, false);
+    }
+
+    /**
+     * Constructs a new instance of {@code SortedIndex}, optionally readable while it is updated.
+     *
+     * @param keyExtractor The function extracting the index key from an entity.
+     * @param concurrent   Whether the index is backed by concurrent maps and sets.
+     */
+    public SortedIndex(Function<E, K> keyExtractor, boolean concurrent) {
+        super(concurrent ? new ConcurrentSkipListMap<>() : new TreeMap<>(), keyExtractor);
+    }
+
+    /**
+     * Finds all entities with a key within the given range.
+     *
+     * @param from          The lower bound of the range.
+     * @param fromInclusive Whether the lower bound is included.
+     * @param to            The upper bound of the range.
+     * @param toInclusive   Whether the upper bound is included.
+     * @return A set of entities with keys within the range.
+     */
+    public Set<E> findBetween(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        if (from.compareTo(to) > 0) {
+            return new HashSet<>();
+        }
+        return collect(navigableBuckets().subMap(from, fromInclusive, to, toInclusive));
+    }
+
+    /**
+     * Finds all entities with a key lower than the given one.
+     *
+     * @param to        The upper bound of the range.
+     * @param inclusive Whether the upper bound is included.
+     * @return A set of entities with keys below the bound.
+     */
+    public Set<E> findBefore(K to, boolean inclusive) {
+        return collect(navigableBuckets().headMap(to, inclusive));
+    }
+
+    /**
+     * Finds all entities with a key greater than the given one.
+     *
+     * @param from      The lower bound of the range.
+     * @param inclusive Whether the lower bound is included.
+     * @return A set of entities with keys above the bound.
+     */
+    public Set<E> findAfter(K from, boolean inclusive) {
+        return collect(navigableBuckets().tailMap(from, inclusive));
+    }
+
+    /**
+     * Queries the entities with a key within the given range without copying them.
+     * The buckets are visited in ascending key order.
+     *
+     * @param from          The lower bound of the range.
+     * @param fromInclusive Whether the lower bound is included.
+     * @param to            The upper bound of the range.
+     * @param toInclusive   Whether the upper bound is included.
+     * @return A lazy, read-only result of the entities with keys within the range.
+     */
+    public QueryResult<E> queryBetween(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        if (from.compareTo(to) > 0) {
+            return QueryResult.of(Stream::empty);
+        }
+        return lazy(navigableBuckets().subMap(from, fromInclusive, to, toInclusive));
+    }
+
+    /**
+     * Queries the entities with a key lower than the given one without copying them.
+     *
+     * @param to        The upper bound of the range.
+     * @param inclusive Whether the upper bound is included.
+     * @return A lazy, read-only result of the entities with keys below the bound.
+     */
+    public QueryResult<E> queryBefore(K to, boolean inclusive) {
+        return lazy(navigableBuckets().headMap(to, inclusive));
+    }
+
+    /**
+     * Queries the entities with a key greater than the given one without copying them.
+     *
+     * @param from      The lower bound of the range.
+     * @param inclusive Whether the lower bound is included.
+     * @return A lazy, read-only result of the entities with keys above the bound.
+     */
+    public QueryResult<E> queryAfter(K from, boolean inclusive) {
+        return lazy(navigableBuckets().tailMap(from, inclusive));
+    }
+
+    /**
+     * Retrieves one page of the indexed entities ordered by key, ties broken by ID.
+     * A keyset request resumes in the bucket of the last entity of the previous page, right after that entity;
+     * a request by page number skips the entities of the pages before. Either way, only the entities up to the end
+     * of the page are visited, and nothing is sorted. Entities with a {@code null} key are not indexed and so are
+     * never listed.
+     *
+     * @param request The requested page.
+     * @return The page of entities.
+     */
+    @SuppressWarnings("unchecked")
+    public Page<E> page(PageRequest request) {
+        boolean descending = request.getDirection() == PageRequest.Direction.DESCENDING;
+        NavigableMap<K, Set<E>> ordered = descending ? navigableBuckets().descendingMap() : navigableBuckets();
+        Stream<E> items;
+        if (request.isKeyset()) {
+            K key = (K) request.getAfterKey();
+            E after = (E) request.getAfter();
+            Set<E> bucket = ordered.get(key);
+            Stream<E> rest = bucket == null
+                ? Stream.empty()
+                : ordered(bucket, descending).tailSet(after, false).stream();
+            items = Stream.concat(rest, ordered.tailMap(key, false).values().stream()
+                .flatMap(next -> ordered(next, descending).stream()));
+        } else {
+            items = ordered.values().stream()
+                .flatMap(next -> ordered(next, descending).stream())
+                .skip((long) request.getPage() * request.getSize());
+        }
+        return Page.of(items.limit(request.getSize() + 1L).toList(), request, this::keyOf);
+    }
+
+    /**
+     * Creates an empty bucket keeping its entities ordered by ID, so pages can resume within a bucket.
+     *
+     * @return The new bucket.
+     */
+    @Override
+    protected Set<E> newBucket() {
+        return buckets instanceof ConcurrentMap ? new ConcurrentSkipListSet<>(BY_ID) : new TreeSet<>(BY_ID);
+    }
+
+    private NavigableSet<E> ordered(Set<E> bucket, boolean descending) {
+        NavigableSet<E> sorted = (NavigableSet<E>) bucket;
+        return descending ? sorted.descendingSet() : sorted;
+    }
+
+    private NavigableMap<K, Set<E>> navigableBuckets() {
+        return (NavigableMap<K, Set<E>>) buckets;
+    }
+
+    private QueryResult<E> lazy(NavigableMap<K, Set<E>> range) {
+        return QueryResult.of(() -> range.values().stream().flatMap(Set::stream));
+    }
+
+    private Set<E> collect(NavigableMap<K, Set<E>> range) {
+        Set<E> result = new HashSet<>();
+        range.values().forEach(result::addAll);
+        return result;
+    }
+}
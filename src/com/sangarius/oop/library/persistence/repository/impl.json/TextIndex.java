@@ -0,0 +1,315 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index answering ranked full-text queries over the words of some text of each entity.
+ * <p>
+ * The text is split into words at every character that is not a letter or digit, and each word is normalized to
+ * lower case without diacritics. The buckets of the index map every word to the entities containing it and are
+ * kept in word order, so the words starting with a prefix are one contiguous range.
+ * <p>
+ * A query matches the entities containing, for every query word, a word starting with it, so the last word of
+ * a query being typed matches as a prefix. Matches are ranked by the sum, over the query words, of the inverse
+ * document frequency of the matching word, scaled down by how much longer the matching word is than the query
+ * word; exact and rare words therefore rank first. The query is driven by its most selective word: the entities
+ * containing it are scored in the order of the best score they can reach, and the search stops as soon as no
+ * further entity can enter the best matches, so short and common query words do not score every entity.
+ *
+ * @param <E> The type of entities stored in the index.
+ */
+public class TextIndex<E extends Entity> extends EntityIndex<String, E> {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final Function<E, String> textExtractor;
+    private final Map<UUID, String[]> wordsById;
+
+    /**
+     * Constructs a new instance of {@code TextIndex}.
+     *
+     * @param textExtractor The function extracting the indexed text from an entity.
+     */
+    public TextIndex(Function<E, String> textExtractor) {
+        this(textExtractor, false);
+    }
+
+    /**
+     * Constructs a new instance of {@code TextIndex}, optionally readable while it is updated.
+     *
+     * @param textExtractor The function extracting the indexed text from an entity.
+     * @param concurrent    Whether the index is backed by concurrent maps and sets.
+     */
+    public TextIndex(Function<E, String> textExtractor, boolean concurrent) {
+        super(concurrent ? new ConcurrentSkipListMap<>() : new TreeMap<>(), textExtractor);
+        this.textExtractor = textExtractor;
+        this.wordsById = newIdMap(concurrent);
+    }
+
+    /**
+     * Normalizes text for indexing: lower case, without diacritics.
+     *
+     * @param text The text to normalize.
+     * @return The normalized text.
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits text into its distinct normalized words.
+     *
+     * @param text The text to split; {@code null} has no words.
+     * @return The distinct words in ascending order.
+     */
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        Set<String> words = new TreeSet<>();
+        for (String word : SEPARATORS.split(normalize(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words.toArray(String[]::new);
+    }
+
+    /**
+     * Adds an entity to the index under every word of its text.
+     *
+     * @param entity The entity to add.
+     */
+    @Override
+    public void add(E entity) {
+        String[] words = tokenize(textExtractor.apply(entity));
+        if (words.length == 0) {
+            return;
+        }
+        wordsById.put(idOf(entity), words);
+        for (String word : words) {
+            buckets.computeIfAbsent(word, w -> newBucket()).add(entity);
+        }
+    }
+
+    /**
+     * Adds a batch of entities to the index, replacing the entries of entities with the same IDs.
+     *
+     * @param entities The entities to add.
+     */
+    @Override
+    public void addAll(Collection<? extends E> entities) {
+        for (E entity : entities) {
+            remove(entity);
+            add(entity);
+        }
+    }
+
+    /**
+     * Removes an entity from the index.
+     * The words the entity was indexed under are used, so entities mutated after being added are removed correctly.
+     *
+     * @param entity The entity to remove.
+     */
+    @Override
+    public void remove(E entity) {
+        String[] words = wordsById.remove(idOf(entity));
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Set<E> bucket = buckets.get(word);
+            bucket.remove(entity);
+            if (bucket.isEmpty()) {
+                buckets.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Finds the entities best matching a query.
+     *
+     * @param query The words to search for; the entities must contain a word starting with each of them.
+     * @param limit The maximum number of entities to return.
+     * @return The matching entities, best match first.
+     */
+    public List<E> search(String query, int limit) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        String driverTerm = null;
+        NavigableMap<String, Set<E>> driver = null;
+        long driverSize = Long.MAX_VALUE;
+        for (String term : terms) {
+            NavigableMap<String, Set<E>> range = prefixRange(term);
+            long size = 0;
+            for (Set<E> bucket : range.values()) {
+                size += bucket.size();
+                if (size >= driverSize) {
+                    break;
+                }
+            }
+            if (size < driverSize) {
+                driverTerm = term;
+                driver = range;
+                driverSize = size;
+            }
+        }
+        if (driverSize == 0) {
+            return List.of();
+        }
+
+        Map<String, Double> idfCache = new HashMap<>();
+        int documents = Math.max(wordsById.size(), 1);
+        ToDoubleFunction<String> idf = word -> idfCache.computeIfAbsent(word, w -> idf(w, documents));
+        double otherTermsBound = 0;
+        for (String term : terms) {
+            if (!term.equals(driverTerm)) {
+                otherTermsBound += bestTermScore(term, idf);
+            }
+        }
+        List<Map.Entry<String, Double>> driverWords = new ArrayList<>();
+        for (String word : driver.keySet()) {
+            driverWords.add(Map.entry(word, termScore(driverTerm, word, idf)));
+        }
+        driverWords.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+
+        PriorityQueue<Match<E>> best = new PriorityQueue<>(Match.ORDER);
+        search:
+        for (Map.Entry<String, Double> driverWord : driverWords) {
+            Set<E> bucket = driver.getOrDefault(driverWord.getKey(), Set.of());
+            for (E entity : bucket) {
+                // An entity reaching the score of the worst match may still rank before it by ID
+                if (best.size() == limit && driverWord.getValue() + otherTermsBound < best.peek().score()) {
+                    break search;
+                }
+                String[] words = wordsById.get(idOf(entity));
+                if (words == null || !bestMatch(words, driverTerm, idf).equals(driverWord.getKey())) {
+                    continue;
+                }
+                double score = score(words, terms, idf);
+                if (score > 0) {
+                    best.add(new Match<>(entity, score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        return Match.ranked(best);
+    }
+
+    /**
+     * Finds the word of an entity scoring best for a query word. The entities are scored when the search reaches this
+     * word, so each entity is scored once even if several of its words start with the query word.
+     */
+    private static String bestMatch(String[] words, String term, ToDoubleFunction<String> idf) {
+        int index = Arrays.binarySearch(words, term);
+        String best = "";
+        double bestScore = -1;
+        for (int i = index >= 0 ? index : -index - 1; i < words.length && words[i].startsWith(term); i++) {
+            double score = termScore(term, words[i], idf);
+            if (score > bestScore) {
+                best = words[i];
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static double score(String[] words, String[] terms, ToDoubleFunction<String> idf) {
+        double score = 0;
+        for (String term : terms) {
+            int index = Arrays.binarySearch(words, term);
+            double termScore = 0;
+            for (int i = index >= 0 ? index : -index - 1; i < words.length && words[i].startsWith(term); i++) {
+                termScore = Math.max(termScore, termScore(term, words[i], idf));
+            }
+            if (termScore == 0) {
+                return 0;
+            }
+            score += termScore;
+        }
+        return score;
+    }
+
+    private double bestTermScore(String term, ToDoubleFunction<String> idf) {
+        double best = 0;
+        for (String word : prefixRange(term).keySet()) {
+            best = Math.max(best, termScore(term, word, idf));
+        }
+        return best;
+    }
+
+    private static double termScore(String term, String word, ToDoubleFunction<String> idf) {
+        return idf.applyAsDouble(word) * term.length() / word.length();
+    }
+
+    private double idf(String word, int documents) {
+        Set<E> bucket = buckets.get(word);
+        int frequency = bucket == null ? 1 : Math.max(bucket.size(), 1);
+        return Math.log(1 + (double) documents / frequency);
+    }
+
+    private NavigableMap<String, Set<E>> prefixRange(String prefix) {
+        NavigableMap<String, Set<E>> words = buckets instanceof ConcurrentMap
+            ? (ConcurrentSkipListMap<String, Set<E>>) buckets
+            : (TreeMap<String, Set<E>>) buckets;
+        return words.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * An entity with its score for a query.
+     * The best matches of a query are collected in a priority queue ordered by {@link #ORDER}, worst match first.
+     *
+     * @param entity The matching entity.
+     * @param score  The score of the entity; higher is better.
+     * @param <E>    The type of the entity.
+     */
+    record Match<E extends Entity>(E entity, double score) {
+
+        static final Comparator<Match<?>> ORDER = Comparator.<Match<?>>comparingDouble(Match::score)
+            .thenComparing(match -> match.entity().getId(), Comparator.nullsFirst(Comparator.reverseOrder()));
+
+        /**
+         * Empties a queue of matches into a list of their entities, best match first.
+         *
+         * @param matches The queue of matches ordered by {@link #ORDER}.
+         * @param <E>     The type of the entities.
+         * @return The entities of the matches.
+         */
+        static <E extends Entity> List<E> ranked(PriorityQueue<Match<E>> matches) {
+            List<E> result = new ArrayList<>(matches.size());
+            while (!matches.isEmpty()) {
+                result.add(matches.poll().entity());
+            }
+            Collections.reverse(result);
+            return result;
+        }
+    }
+}
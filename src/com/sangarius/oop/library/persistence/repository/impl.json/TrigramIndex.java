@@ -0,0 +1,220 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Index answering typo-tolerant queries by the trigrams of one or more text fields of each entity.
+ * <p>
+ * Every word of a field, normalized like in {@link TextIndex}, is padded with two spaces in front and one behind,
+ * and split into its overlapping three-character trigrams; each trigram is packed into a {@code long} key. The
+ * similarity of a query to a field is the number of trigrams they share divided by the number of distinct trigrams
+ * of both (the Jaccard index), and an entity scores the similarity of its most similar field.
+ * <p>
+ * A query reads the entity sets of its trigrams from the rarest to the most common one. An entity missing from the
+ * first sets shares few trigrams with the query, so the search stops as soon as no such entity could enter the best
+ * matches or reach {@link #MIN_SIMILARITY}; common trigrams are rarely read.
+ *
+ * @param <E> The type of entities stored in the index.
+ */
+public class TrigramIndex<E extends Entity> extends EntityIndex<Long, E> {
+
+    /**
+     * The smallest similarity of a match, the same as the default threshold of PostgreSQL's {@code pg_trgm}.
+     */
+    public static final double MIN_SIMILARITY = 0.3;
+
+    private static final long[] NO_TRIGRAMS = new long[0];
+
+    private final List<Function<E, String>> fieldExtractors;
+    private final Map<UUID, long[][]> trigramsById;
+
+    /**
+     * Constructs a new instance of {@code TrigramIndex}.
+     *
+     * @param fieldExtractors The functions extracting the indexed fields from an entity.
+     */
+    public TrigramIndex(List<Function<E, String>> fieldExtractors) {
+        this(fieldExtractors, false);
+    }
+
+    /**
+     * Constructs a new instance of {@code TrigramIndex}, optionally readable while it is updated.
+     *
+     * @param fieldExtractors The functions extracting the indexed fields from an entity.
+     * @param concurrent      Whether the index is backed by concurrent maps and sets.
+     */
+    public TrigramIndex(List<Function<E, String>> fieldExtractors, boolean concurrent) {
+        // Entities are indexed under several trigrams by the overridden methods, not under a single key
+        super(concurrent ? new ConcurrentHashMap<>() : new HashMap<>(), entity -> null);
+        this.fieldExtractors = List.copyOf(fieldExtractors);
+        this.trigramsById = newIdMap(concurrent);
+    }
+
+    /**
+     * Splits text into the distinct trigrams of its normalized words.
+     *
+     * @param text The text to split; {@code null} has no trigrams.
+     * @return The packed trigrams in ascending order.
+     */
+    static long[] trigrams(String text) {
+        String[] words = TextIndex.tokenize(text);
+        if (words.length == 0) {
+            return NO_TRIGRAMS;
+        }
+        int count = 0;
+        for (String word : words) {
+            count += word.length() + 1;
+        }
+        long[] trigrams = new long[count];
+        int size = 0;
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                // 21 bits per character, so every character reaches the low bits of the key's hash code
+                trigrams[size++] = (long) padded.charAt(i) << 42 | (long) padded.charAt(i + 1) << 21
+                    | padded.charAt(i + 2);
+            }
+        }
+        Arrays.sort(trigrams);
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    /**
+     * Adds an entity to the index under every trigram of its fields.
+     *
+     * @param entity The entity to add.
+     */
+    @Override
+    public void add(E entity) {
+        long[][] fields = new long[fieldExtractors.size()][];
+        Set<Long> all = new HashSet<>();
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = trigrams(fieldExtractors.get(i).apply(entity));
+            for (long trigram : fields[i]) {
+                all.add(trigram);
+            }
+        }
+        if (all.isEmpty()) {
+            return;
+        }
+        trigramsById.put(idOf(entity), fields);
+        for (Long trigram : all) {
+            buckets.computeIfAbsent(trigram, t -> newBucket()).add(entity);
+        }
+    }
+
+    /**
+     * Adds a batch of entities to the index, replacing the entries of entities with the same IDs.
+     *
+     * @param entities The entities to add.
+     */
+    @Override
+    public void addAll(Collection<? extends E> entities) {
+        for (E entity : entities) {
+            remove(entity);
+            add(entity);
+        }
+    }
+
+    /**
+     * Removes an entity from the index.
+     * The trigrams the entity was indexed under are used, so entities mutated after being added are removed correctly.
+     *
+     * @param entity The entity to remove.
+     */
+    @Override
+    public void remove(E entity) {
+        long[][] fields = trigramsById.remove(idOf(entity));
+        if (fields == null) {
+            return;
+        }
+        for (long[] field : fields) {
+            for (long trigram : field) {
+                Set<E> bucket = buckets.get(trigram);
+                if (bucket != null) {
+                    bucket.remove(entity);
+                    if (bucket.isEmpty()) {
+                        buckets.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the entities with a field most similar to a query.
+     *
+     * @param query The text to search for; it may contain typos.
+     * @param limit The maximum number of entities to return.
+     * @return The entities with a similarity of at least {@link #MIN_SIMILARITY}, most similar first.
+     */
+    public List<E> search(String query, int limit) {
+        long[] queryTrigrams = trigrams(query);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        List<Set<E>> postings = new ArrayList<>(queryTrigrams.length);
+        for (long trigram : queryTrigrams) {
+            postings.add(buckets.getOrDefault(trigram, Set.of()));
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        PriorityQueue<TextIndex.Match<E>> best = new PriorityQueue<>(TextIndex.Match.ORDER);
+        Set<UUID> scored = new HashSet<>();
+        for (int read = 0; read < postings.size(); read++) {
+            // An entity in none of the sets read so far shares at most the remaining trigrams with the query, and
+            // one reaching the similarity of the worst match may still rank before it by ID
+            double bound = (double) (postings.size() - read) / queryTrigrams.length;
+            if (bound < MIN_SIMILARITY || best.size() == limit && bound < best.peek().score()) {
+                break;
+            }
+            for (E entity : postings.get(read)) {
+                long[][] fields = trigramsById.get(idOf(entity));
+                if (fields == null || !scored.add(idOf(entity))) {
+                    continue;
+                }
+                double similarity = 0;
+                for (long[] field : fields) {
+                    similarity = Math.max(similarity, similarity(queryTrigrams, field));
+                }
+                if (similarity >= MIN_SIMILARITY) {
+                    best.add(new TextIndex.Match<>(entity, similarity));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        return TextIndex.Match.ranked(best);
+    }
+
+    private static double similarity(long[] first, long[] second) {
+        int shared = 0;
+        for (int i = 0, j = 0; i < first.length && j < second.length; ) {
+            if (first[i] == second[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (first[i] < second[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (first.length + second.length - shared);
+    }
+}
@@ -1,28 +1,40 @@
 package com.sangarius.oop.library.persistence.repository.impl.json;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.repository.QueryResult;
 import com.sangarius.oop.library.persistence.repository.contracts.UserRepository;
 
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * JSON implementation of the User repository.
  */
-public class UserJsonRepositoryImpl extends GenericJsonRepository<User> implements UserRepository {
+public final class UserJsonRepositoryImpl extends GenericJsonRepository<User> implements UserRepository {
+
+    private final HashIndex<String, User> emailIndex;
+    private final HashIndex<String, User> nameIndex;
 
     /**
-     * Constructs a new instance of {@code UserJsonRepositoryImpl}.
+     * Constructs a new instance of {@code UserJsonRepositoryImpl} backed by a JSON file.
      *
      * @param gson The Gson instance for JSON serialization/deserialization.
      */
     public UserJsonRepositoryImpl(Gson gson) {
-        super(gson, JsonPathFactory.USERS.getPath(), TypeToken
-            .getParameterized(Set.class, User.class)
-            .getType());
+        this(gson, new JsonSnapshotFormat(gson));
+    }
+
+    /**
+     * Constructs a new instance of {@code UserJsonRepositoryImpl} backed by a snapshot file in the given format.
+     *
+     * @param gson   The Gson instance for JSON serialization/deserialization.
+     * @param format The format of the snapshot file.
+     */
+    public UserJsonRepositoryImpl(Gson gson, SnapshotFormat format) {
+        super(gson, format, JsonPathFactory.USERS.getPath(), User.class);
+        this.emailIndex = createHashIndex(User::getEmail);
+        this.nameIndex = createHashIndex(User::getName);
     }
 
     /**
@@ -33,9 +45,7 @@ public class UserJsonRepositoryImpl extends GenericJsonRepository<User> implemen
      */
     @Override
     public Optional<User> findByEmail(String email) {
-        return entities.stream()
-            .filter(user -> email.equals(user.getEmail()))
-            .findFirst();
+        return emailIndex.findFirst(email);
     }
 
     /**
@@ -46,8 +56,17 @@ public class UserJsonRepositoryImpl extends GenericJsonRepository<User> implemen
      */
     @Override
     public Set<User> findAllByName(String name) {
-        return entities.stream()
-            .filter(user -> name.equals(user.getName()))
-            .collect(Collectors.toSet());
+        return nameIndex.find(name);
+    }
+
+    /**
+     * Queries users by name without copying them.
+     *
+     * @param name The name to search for.
+     * @return A lazy result of users with the specified name.
+     */
+    @Override
+    public QueryResult<User> queryByName(String name) {
+        return nameIndex.query(name);
     }
 }
\ No newline at end of file
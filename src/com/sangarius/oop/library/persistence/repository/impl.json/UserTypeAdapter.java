@@ -0,0 +1,42 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.impl.EntityRestorer;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Streaming type adapter of {@link User}.
+ */
+class UserTypeAdapter extends EntityTypeAdapter<User> {
+
+    @Override
+    public void write(JsonWriter out, User user) throws IOException {
+        out.beginObject();
+        writeId(out, user.getId());
+        out.name("email").value(user.getEmail());
+        out.name("name").value(user.getName());
+        out.endObject();
+    }
+
+    @Override
+    public User read(JsonReader in) throws IOException {
+        UUID id = null;
+        String email = null;
+        String name = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readId(in);
+                case "email" -> email = readString(in);
+                case "name" -> name = readString(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return EntityRestorer.user(id, email, name);
+    }
+}
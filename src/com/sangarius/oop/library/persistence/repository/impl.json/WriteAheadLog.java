@@ -0,0 +1,299 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of the mutations made to a repository since its last snapshot.
+ * Each record is one line: {@code ADD <compact json>} or {@code REMOVE <uuid>}.
+ * A checkpoint rotates the log aside, writes a new snapshot and then discards the rotated log.
+ *
+ * @param <E> The type of entities stored in the log.
+ */
+public class WriteAheadLog<E extends Entity> {
+
+    private static final String ADD = "ADD ";
+    private static final String REMOVE = "REMOVE ";
+    private static final int UUID_LENGTH = 36;
+
+    private final Gson gson;
+    private final Class<E> entityType;
+    private final Path path;
+    private final Path rotatedPath;
+    private FileChannel channel;
+
+    /**
+     * Constructs a new log for the given snapshot file.
+     * The log is kept next to the snapshot as {@code <snapshot>.wal}.
+     *
+     * @param gson         The Gson instance for JSON serialization/deserialization.
+     * @param snapshotPath The path to the snapshot file.
+     * @param entityType   The class of the logged entities.
+     */
+    public WriteAheadLog(Gson gson, Path snapshotPath, Class<E> entityType) {
+        this.gson = gson;
+        this.entityType = entityType;
+        this.path = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".wal");
+        this.rotatedPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".wal.old");
+    }
+
+    /**
+     * Replays the logged mutations in order and opens the log for appending.
+     * The rotated log of an unfinished checkpoint is replayed first.
+     * A record torn by a crash at the end of a log is dropped, and a complete last record missing only its line
+     * break is terminated, so records appended afterward start on a line of their own.
+     *
+     * @param onAdd    The action applied to every added entity.
+     * @param onRemove The action applied to the ID of every removed entity.
+     * @throws JsonFileIOException If the log cannot be read or contains a corrupted record.
+     */
+    public synchronized void open(Consumer<E> onAdd, Consumer<UUID> onRemove) {
+        try {
+            Replayed rotated = replay(rotatedPath, onAdd, onRemove);
+            if (Files.exists(rotatedPath)) {
+                repair(rotatedPath, rotated).close();
+            }
+            channel = repair(path, replay(path, onAdd, onRemove));
+        } catch (IOException e) {
+            throw new JsonFileIOException("Error working with the log file %s."
+                .formatted(path.getFileName()));
+        }
+    }
+
+    /**
+     * Durably appends the addition of an entity to the log.
+     *
+     * @param entity The added entity.
+     */
+    public synchronized void appendAdd(E entity) {
+        append(addRecord(entity) + "\n");
+    }
+
+    /**
+     * Durably appends the additions of a batch of entities to the log, forcing it to disk once.
+     *
+     * @param entities The added entities.
+     */
+    public synchronized void appendAddAll(Collection<? extends E> entities) {
+        StringBuilder records = new StringBuilder();
+        entities.forEach(entity -> records.append(addRecord(entity)).append('\n'));
+        append(records.toString());
+    }
+
+    /**
+     * Durably appends the removal of an entity to the log.
+     *
+     * @param id The ID of the removed entity.
+     */
+    public synchronized void appendRemove(UUID id) {
+        append(REMOVE + id + "\n");
+    }
+
+    /**
+     * Durably appends the removals of a batch of entities to the log, forcing it to disk once.
+     *
+     * @param ids The IDs of the removed entities.
+     */
+    public synchronized void appendRemoveAll(Collection<UUID> ids) {
+        StringBuilder records = new StringBuilder();
+        ids.forEach(id -> records.append(REMOVE).append(id).append('\n'));
+        append(records.toString());
+    }
+
+    private String addRecord(E entity) {
+        StringWriter json = new StringWriter();
+        gson.toJson(entity, entityType, new JsonWriter(json));
+        return ADD + json;
+    }
+
+    /**
+     * Moves the current records aside so that they survive until the next snapshot is written.
+     * Records appended afterward go to a fresh log. If the rotated records of a failed checkpoint are still there,
+     * the current records are appended to them and forced to disk before the current log is deleted; the directory
+     * is forced to disk last, so a crash at any point keeps every record.
+     *
+     * @throws JsonFileIOException If the log cannot be rotated.
+     */
+    public synchronized void rotate() {
+        try {
+            channel.close();
+            if (Files.exists(rotatedPath)) {
+                // A previous checkpoint failed, so its records are still needed
+                appendToRotated();
+                Files.delete(path);
+            } else {
+                Files.move(path, rotatedPath);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            AtomicFileWriter.forceDirectory(path.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            throw new JsonFileIOException("Failed to rotate the log file %s. Details: %s"
+                .formatted(path.getFileName(), e.getMessage()));
+        }
+    }
+
+    private void appendToRotated() throws IOException {
+        try (FileChannel rotated = FileChannel.open(rotatedPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             FileChannel current = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = current.size();
+            long position = 0;
+            while (position < size) {
+                position += current.transferTo(position, size - position, rotated);
+            }
+            rotated.force(true);
+        }
+    }
+
+    /**
+     * Deletes the rotated records once a snapshot containing them has been written.
+     *
+     * @throws JsonFileIOException If the rotated log cannot be deleted.
+     */
+    public synchronized void discardRotated() {
+        try {
+            Files.deleteIfExists(rotatedPath);
+        } catch (IOException e) {
+            throw new JsonFileIOException("Failed to delete the log file %s. Details: %s"
+                .formatted(rotatedPath.getFileName(), e.getMessage()));
+        }
+    }
+
+    private void append(String records) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new JsonFileIOException("Failed to append to the log file %s. Details: %s"
+                .formatted(path.getFileName(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Replays one log file.
+     * Only the last record may be torn: it is dropped if it has no line break and cannot be parsed.
+     *
+     * @param file     The log file to replay.
+     * @param onAdd    The action applied to every added entity.
+     * @param onRemove The action applied to the ID of every removed entity.
+     * @return The extent of the valid records in the file.
+     * @throws IOException Exception during input/output operations.
+     */
+    private Replayed replay(Path file, Consumer<E> onAdd, Consumer<UUID> onRemove) throws IOException {
+        if (!Files.exists(file)) {
+            return new Replayed(0, true);
+        }
+        long validLength = 0;
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                int start = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        record.write(buffer, start, i - start);
+                        try {
+                            apply(record.toString(StandardCharsets.UTF_8), onAdd, onRemove);
+                        } catch (JsonParseException | IllegalArgumentException e) {
+                            throw new JsonFileIOException("The log file %s contains a corrupted record. Details: %s"
+                                .formatted(file.getFileName(), e.getMessage()));
+                        }
+                        validLength += record.size() + 1;
+                        record.reset();
+                        start = i + 1;
+                    }
+                }
+                record.write(buffer, start, read - start);
+            }
+        }
+        if (record.size() == 0) {
+            return new Replayed(validLength, true);
+        }
+        try {
+            apply(record.toString(StandardCharsets.UTF_8), onAdd, onRemove);
+        } catch (JsonParseException | IllegalArgumentException e) {
+            // The last record was only partly written before a crash
+            return new Replayed(validLength, true);
+        }
+        // The last record was written completely, but not its line break
+        return new Replayed(validLength + record.size(), false);
+    }
+
+    private void apply(String record, Consumer<E> onAdd, Consumer<UUID> onRemove) {
+        if (record.startsWith(ADD)) {
+            E entity = gson.fromJson(record.substring(ADD.length()), entityType);
+            if (entity == null) {
+                throw new JsonParseException("Empty record.");
+            }
+            onAdd.accept(entity);
+        } else if (record.startsWith(REMOVE)) {
+            String id = record.substring(REMOVE.length());
+            if (id.length() != UUID_LENGTH) {
+                // UUID.fromString also accepts shortened IDs, such as the prefix of a torn record
+                throw new IllegalArgumentException("Invalid ID " + id + ".");
+            }
+            onRemove.accept(UUID.fromString(id));
+        } else {
+            throw new IllegalArgumentException("Unknown record type.");
+        }
+    }
+
+    /**
+     * Cuts a replayed log file after its valid records, terminates its last record if needed, and opens it for
+     * appending at its end.
+     *
+     * @param file     The replayed log file.
+     * @param replayed The extent of the valid records in the file.
+     * @return The channel positioned at the end of the file.
+     * @throws IOException Exception during input/output operations.
+     */
+    private static FileChannel repair(Path file, Replayed replayed) throws IOException {
+        FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (fileChannel.size() > replayed.length()) {
+                fileChannel.truncate(replayed.length());
+            }
+            fileChannel.position(fileChannel.size());
+            if (!replayed.terminated()) {
+                ByteBuffer lineBreak = ByteBuffer.wrap(new byte[] {'\n'});
+                while (lineBreak.hasRemaining()) {
+                    fileChannel.write(lineBreak);
+                }
+            }
+            fileChannel.force(false);
+            return fileChannel;
+        } catch (IOException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The extent of the valid records of a replayed log file.
+     *
+     * @param length     The length in bytes of the valid records.
+     * @param terminated Whether the last valid record ends with a line break.
+     */
+    private record Replayed(long length, boolean terminated) {
+    }
+}
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.sangarius.oop.library.service;
 
 import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.exception.EntityArgumentException;
+import com.sangarius.oop.library.persistence.repository.Transaction;
 import com.sangarius.oop.library.persistence.repository.contracts.BookRepository;
 
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service class for processing books and interacting with the book repository.
@@ -27,9 +32,43 @@ public class BookRepositoryService {
      * @param books The set of books to be processed.
      */
     public void processBooksAndCommit(Set<Book> books) {
-        for (Book book : books) {
-            bookRepository.add(book);
+        bookRepository.addAll(books);
+    }
+
+    /**
+     * Stages the provided set of books for addition to the book repository in the given transaction.
+     * The books are stored once the transaction is committed.
+     *
+     * @param books       The set of books to be staged.
+     * @param transaction The transaction buffering the additions.
+     */
+    public void stageBooks(Set<Book> books, Transaction transaction) {
+        transaction.addAll(bookRepository, books);
+    }
+
+    /**
+     * Edits a book stored in the book repository and re-indexes it under its new values.
+     * The edit is first tried on an unvalidated copy of the book, so only the edited values are validated and a
+     * book stored with outdated values can still be fixed. If they are valid, the edit is applied in place to the
+     * stored book, which its reviews, loans and libraries keep referencing.
+     * The change is stored once the repository factory is committed.
+     *
+     * @param bookId The ID of the book to edit.
+     * @param edit   The mutation to apply to the book; it is applied twice, to the copy and to the stored book.
+     * @return An optional containing the edited book, or empty if there is no book with the ID.
+     * @throws EntityArgumentException If the edited values are invalid.
+     */
+    public Optional<Book> editBook(UUID bookId, Consumer<Book> edit) {
+        Optional<Book> stored = bookRepository.findById(bookId);
+        if (stored.isEmpty()) {
+            return stored;
+        }
+        Book candidate = stored.get().copy();
+        edit.accept(candidate);
+        if (!candidate.isValid()) {
+            throw new EntityArgumentException(candidate.getErrors());
         }
+        return bookRepository.update(bookId, edit);
     }
 
     private void printAllBooks() {
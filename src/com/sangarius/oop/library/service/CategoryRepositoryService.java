@@ -2,6 +2,7 @@ package com.sangarius.oop.library.service;
 
 import com.sangarius.oop.library.persistence.entity.impl.Category;
 import com.sangarius.oop.library.persistence.repository.RepositoryFactory;
+import com.sangarius.oop.library.persistence.repository.Transaction;
 import com.sangarius.oop.library.persistence.repository.contracts.CategoryRepository;
 
 import java.util.Set;
@@ -39,9 +40,18 @@ public class CategoryRepositoryService {
      * @param categories The set of categories to be processed.
      */
     public void processCategoriesAndCommit(Set<Category> categories) {
-        for (Category category : categories) {
-            categoryRepository.add(category);
-        }
+        categoryRepository.addAll(categories);
+    }
+
+    /**
+     * Stages the provided set of categories for addition to the category repository in the given transaction.
+     * The categories are stored once the transaction is committed.
+     *
+     * @param categories  The set of categories to be staged.
+     * @param transaction The transaction buffering the additions.
+     */
+    public void stageCategories(Set<Category> categories, Transaction transaction) {
+        transaction.addAll(categoryRepository, categories);
     }
 
     // This method is private and does not require JavaDoc
@@ -5,6 +5,7 @@ import com.sangarius.oop.library.persistence.entity.impl.Library;
 import com.sangarius.oop.library.persistence.entity.impl.Loan;
 import com.sangarius.oop.library.persistence.entity.impl.User;
 import com.sangarius.oop.library.persistence.repository.RepositoryFactory;
+import com.sangarius.oop.library.persistence.repository.Transaction;
 import com.sangarius.oop.library.persistence.repository.contracts.LibraryRepository;
 
 import java.util.List;
@@ -52,10 +53,34 @@ public class LibraryRepositoryService {
             library.getBooks().addAll(books);
             library.getUsers().addAll(users);
             library.getLoans().addAll(loans);
+        }
+
+        // Add the libraries to the repository
+        libraryRepository.addAll(libraries);
+    }
 
-            // Add the library to the repository
-            libraryRepository.add(library);
+    /**
+     * Stages the provided set of libraries for addition to the library repository in the given transaction.
+     * Additionally, adds the associated users, books, and loans to each library.
+     * The libraries are stored once the transaction is committed.
+     *
+     * @param libraries   The set of libraries to be staged.
+     * @param users       The set of users associated with the libraries.
+     * @param books       The set of books associated with the libraries.
+     * @param loans       The set of loans associated with the libraries.
+     * @param transaction The transaction buffering the additions.
+     */
+    public void stageLibraries(Set<Library> libraries, Set<User> users, Set<Book> books, Set<Loan> loans,
+                               Transaction transaction) {
+        for (Library library : libraries) {
+            // Add books, users, and loans to the library
+            library.getBooks().addAll(books);
+            library.getUsers().addAll(users);
+            library.getLoans().addAll(loans);
         }
+
+        // Stage the libraries for addition to the repository
+        transaction.addAll(libraryRepository, libraries);
     }
 
     // This method is private and does not require JavaDoc
@@ -2,6 +2,7 @@ package com.sangarius.oop.library.service;
 
 import com.sangarius.oop.library.persistence.entity.impl.Loan;
 import com.sangarius.oop.library.persistence.repository.RepositoryFactory;
+import com.sangarius.oop.library.persistence.repository.Transaction;
 import com.sangarius.oop.library.persistence.repository.contracts.LoanRepository;
 
 import java.util.Set;
@@ -40,9 +41,18 @@ public class LoanRepositoryService {
      * @param loans The set of loans to be processed.
      */
     public void processLoansAndCommit(Set<Loan> loans) {
-        for (Loan loan : loans) {
-            loanRepository.add(loan);
-        }
+        loanRepository.addAll(loans);
+    }
+
+    /**
+     * Stages the provided set of loans for addition to the loan repository in the given transaction.
+     * The loans are stored once the transaction is committed.
+     *
+     * @param loans       The set of loans to be staged.
+     * @param transaction The transaction buffering the additions.
+     */
+    public void stageLoans(Set<Loan> loans, Transaction transaction) {
+        transaction.addAll(loanRepository, loans);
     }
 
     // This method is private and does not require JavaDoc
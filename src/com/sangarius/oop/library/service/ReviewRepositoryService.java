@@ -1,6 +1,7 @@
 package com.sangarius.oop.library.service;
 
 import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.repository.Transaction;
 import com.sangarius.oop.library.persistence.repository.contracts.ReviewRepository;
 
 import java.util.Set;
@@ -27,9 +28,18 @@ public class ReviewRepositoryService {
      * @param reviews The set of reviews to be processed.
      */
     public void processReviewsAndCommit(Set<Review> reviews) {
-        for (Review review : reviews) {
-            reviewRepository.add(review);
-        }
+        reviewRepository.addAll(reviews);
+    }
+
+    /**
+     * Stages the provided set of reviews for addition to the review repository in the given transaction.
+     * The reviews are stored once the transaction is committed.
+     *
+     * @param reviews     The set of reviews to be staged.
+     * @param transaction The transaction buffering the additions.
+     */
+    public void stageReviews(Set<Review> reviews, Transaction transaction) {
+        transaction.addAll(reviewRepository, reviews);
     }
 
     // This method is private and does not require JavaDoc
@@ -2,6 +2,7 @@ package com.sangarius.oop.library.service;
 
 import com.sangarius.oop.library.persistence.entity.impl.User;
 import com.sangarius.oop.library.persistence.repository.RepositoryFactory;
+import com.sangarius.oop.library.persistence.repository.Transaction;
 import com.sangarius.oop.library.persistence.repository.contracts.UserRepository;
 
 import java.util.Set;
@@ -39,9 +40,18 @@ public class UserRepositoryService {
      * @param users The set of users to be processed.
      */
     public void processUsersAndCommit(Set<User> users) {
-        for (User user : users) {
-            userRepository.add(user);
-        }
+        userRepository.addAll(users);
+    }
+
+    /**
+     * Stages the provided set of users for addition to the user repository in the given transaction.
+     * The users are stored once the transaction is committed.
+     *
+     * @param users       The set of users to be staged.
+     * @param transaction The transaction buffering the additions.
+     */
+    public void stageUsers(Set<User> users, Transaction transaction) {
+        transaction.addAll(userRepository, users);
     }
 
     // This method is private and does not require JavaDoc
@@ -21,6 +21,7 @@ public class BookGenerator {
 
     /**
      * Generates a set of books with associated reviews.
+     * Each book gets one random review; with no reviews given, the books have none.
      *
      * @param count  The number of books to generate.
      * @param users  The set of users associated with the reviews.
@@ -29,20 +30,23 @@ public class BookGenerator {
      */
     public static Set<Book> generateBooks(int count, Set<User> users, Set<Review> reviews) {
         Set<Book> books = new HashSet<>();
+        Set<String> titles = new HashSet<>();
+        List<Review> reviewList = new ArrayList<>(reviews);
 
         for (int i = 0; i < count; i++) {
             UUID bookId = UUID.randomUUID();
-            String title = generateUniqueTitle(books, faker.book().title());
+            String title = generateUniqueTitle(titles, faker.book().title());
             String author = faker.book().author();
             String categoryName = faker.book().genre();
             UUID categoryId = UUID.randomUUID();
             Category category = new Category(categoryId, categoryName);
             int yearPublished = faker.number().numberBetween(1800, 2022);
-            Review randomReview = getRandomReview(reviews);
 
             Book book = new Book(bookId, title, author, category, yearPublished);
 
-            book.addReview(randomReview);
+            if (!reviewList.isEmpty()) {
+                book.addReview(getRandomReview(reviewList));
+            }
 
             books.add(book);
         }
@@ -51,31 +55,31 @@ public class BookGenerator {
     }
 
     /**
-     * Generates a unique title based on the provided title and existing books.
+     * Generates a unique title based on the provided title and the titles already taken.
+     * The generated title is added to the taken titles.
      *
-     * @param existingBooks A set of existing books to check for uniqueness.
-     * @param title         The base title to generate a unique title from.
-     * @return A unique title that does not exist in the set of existing books.
+     * @param existingTitles A set of the titles already taken.
+     * @param title          The base title to generate a unique title from.
+     * @return A unique title that was not taken yet.
      */
-    private static String generateUniqueTitle(Set<Book> existingBooks, String title) {
-        final String[] uniqueTitle = {title};
+    private static String generateUniqueTitle(Set<String> existingTitles, String title) {
+        String uniqueTitle = title;
 
-        while (existingBooks.stream().anyMatch(book -> book.getTitle().equals(uniqueTitle[0]))) {
-            uniqueTitle[0] = title + " " + UUID.randomUUID().toString().substring(0, 8);
+        while (!existingTitles.add(uniqueTitle)) {
+            uniqueTitle = title + " " + UUID.randomUUID().toString().substring(0, 8);
         }
 
-        return uniqueTitle[0];
+        return uniqueTitle;
     }
 
     /**
-     * Retrieves a random review from the provided set of reviews.
+     * Retrieves a random review from the provided list of reviews.
      *
-     * @param reviews The set of reviews to choose from.
-     * @return A randomly selected review from the set.
+     * @param reviews The list of reviews to choose from.
+     * @return A randomly selected review from the list.
      */
-    private static Review getRandomReview(Set<Review> reviews) {
-        List<Review> reviewList = new ArrayList<>(reviews);
+    private static Review getRandomReview(List<Review> reviews) {
         int randomIndex = faker.number().numberBetween(0, reviews.size());
-        return reviewList.get(randomIndex);
+        return reviews.get(randomIndex);
     }
 }
\ No newline at end of file
@@ -29,13 +29,15 @@ public class LoanGenerator {
      */
     public static Set<Loan> generateLoans(int count, Set<Book> availableBooks, Set<User> users) {
         Set<Loan> loans = new HashSet<>();
+        List<Book> availableBookList = new ArrayList<>(availableBooks);
+        List<User> userList = new ArrayList<>(users);
 
         for (int i = 0; i < count; i++) {
             UUID loanId = UUID.randomUUID();
             LocalDate loanDate = LocalDate.now().minusDays(faker.number().numberBetween(1, 30));
             LocalDate dueDate = loanDate.plusDays(faker.number().numberBetween(7, 30));
-            User borrower = getRandomUser(users);
-            Book borrowedBook = getRandomAvailableBook(availableBooks);
+            User borrower = getRandomUser(userList);
+            Book borrowedBook = getRandomAvailableBook(availableBookList);
 
             Loan loan = new Loan(loanId, loanDate, dueDate, borrower, borrowedBook);
             loans.add(loan);
@@ -45,26 +47,24 @@ public class LoanGenerator {
     }
 
     /**
-     * Retrieves a random user from the given set of users.
+     * Retrieves a random user from the given list of users.
      *
-     * @param users A set of users.
+     * @param users A list of users.
      * @return A randomly selected user.
      */
-    private static User getRandomUser(Set<User> users) {
-        List<User> userList = new ArrayList<>(users);
+    private static User getRandomUser(List<User> users) {
         int randomIndex = faker.number().numberBetween(0, users.size());
-        return userList.get(randomIndex);
+        return users.get(randomIndex);
     }
 
     /**
-     * Retrieves a random available book from the given set of available books.
+     * Retrieves a random available book from the given list of available books.
      *
-     * @param availableBooks A set of available books.
+     * @param availableBooks A list of available books.
      * @return A randomly selected available book.
      */
-    private static Book getRandomAvailableBook(Set<Book> availableBooks) {
-        List<Book> availableBookList = new ArrayList<>(availableBooks);
+    private static Book getRandomAvailableBook(List<Book> availableBooks) {
         int randomIndex = faker.number().numberBetween(0, availableBooks.size());
-        return availableBookList.get(randomIndex);
+        return availableBooks.get(randomIndex);
     }
 }
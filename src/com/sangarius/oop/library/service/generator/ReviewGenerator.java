@@ -32,7 +32,21 @@ public class ReviewGenerator {
      * @return              A set of generated reviews.
      */
     public static Set<Review> generateReviews(int count, Set<User> users, String jsonFilePath) {
+        return generateReviews(count, users, readBooksFromJson(jsonFilePath));
+    }
+
+    /**
+     * Generates a set of reviews of the given books.
+     *
+     * @param count         The number of reviews to generate.
+     * @param users         A set of users who will be the reviewers.
+     * @param books         A set of books to review.
+     * @return              A set of generated reviews.
+     */
+    public static Set<Review> generateReviews(int count, Set<User> users, Set<Book> books) {
         Set<Review> reviews = new HashSet<>();
+        List<User> userList = new ArrayList<>(users);
+        List<Book> bookList = new ArrayList<>(books);
 
         for (int i = 0; i < count; i++) {
             UUID reviewId = UUID.randomUUID();
@@ -40,10 +54,10 @@ public class ReviewGenerator {
             int rating = faker.number().numberBetween(1, 5);
 
             // Choose an existing user as reviewer
-            User reviewer = getRandomUser(users);
+            User reviewer = getRandomUser(userList);
 
             // Choose a random available book
-            Book book = getRandomBookFromJson(jsonFilePath);
+            Book book = getRandomBook(bookList);
 
             Review review = new Review(reviewId, reviewText, rating, reviewer, book);
             reviews.add(review);
@@ -53,31 +67,25 @@ public class ReviewGenerator {
     }
 
     /**
-     * Retrieves a random user from the given set of users.
+     * Retrieves a random user from the given list of users.
      *
-     * @param users A set of users.
+     * @param users A list of users.
      * @return      A randomly selected user.
      */
-    private static User getRandomUser(Set<User> users) {
-        List<User> userList = new ArrayList<>(users);
+    private static User getRandomUser(List<User> users) {
         int randomIndex = faker.number().numberBetween(0, users.size());
-        return userList.get(randomIndex);
+        return users.get(randomIndex);
     }
 
     /**
-     * Retrieves a random available book from the given JSON file.
+     * Retrieves a random available book from the given list of books.
      *
-     * @param jsonFilePath  The file path to the JSON containing book data.
-     * @return              A randomly selected available book.
+     * @param books A list of books.
+     * @return      A randomly selected available book.
      */
-    private static Book getRandomBookFromJson(String jsonFilePath) {
-        // Read data from the JSON file and create a set of books
-        Set<Book> books = readBooksFromJson(jsonFilePath);
-
-        // Select a random book from the set
-        List<Book> availableBookList = new ArrayList<>(books);
+    private static Book getRandomBook(List<Book> books) {
         int randomIndex = faker.number().numberBetween(0, books.size());
-        return availableBookList.get(randomIndex);
+        return books.get(randomIndex);
     }
 
     /**
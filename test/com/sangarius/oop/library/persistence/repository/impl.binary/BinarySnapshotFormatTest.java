@@ -0,0 +1,90 @@
+package com.sangarius.oop.library.persistence.repository.impl.binary;
+
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests reading binary snapshot files whose counts and lengths do not fit in the file.
+ */
+class BinarySnapshotFormatTest {
+
+    // The magic number, the schema version and the type name "Category" written by writeUTF
+    private static final int COUNT_OFFSET = 4 + 4 + 2 + "Category".length();
+    private static final int RECORD_LENGTH_OFFSET = COUNT_OFFSET + 4;
+    // The presence flag and the two longs of the ID
+    private static final int NAME_LENGTH_OFFSET = RECORD_LENGTH_OFFSET + 4 + 1 + 16;
+
+    private final BinarySnapshotFormat format = new BinarySnapshotFormat();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void validFileIsRead() throws IOException {
+        Path path = write(snapshot());
+
+        assertEquals(Set.of("Poetry"), Set.copyOf(format.read(path, Category.class).stream()
+            .map(Category::getName).toList()));
+    }
+
+    @Test
+    void negativeRecordCountIsMalformed() throws IOException {
+        assertMalformed(COUNT_OFFSET, -1);
+    }
+
+    @Test
+    void recordCountBeyondTheFileIsMalformed() throws IOException {
+        assertMalformed(COUNT_OFFSET, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void negativeRecordLengthIsMalformed() throws IOException {
+        assertMalformed(RECORD_LENGTH_OFFSET, -5);
+    }
+
+    @Test
+    void recordLengthBeyondTheFileIsMalformed() throws IOException {
+        assertMalformed(RECORD_LENGTH_OFFSET, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void stringLengthBeyondTheRecordIsMalformed() throws IOException {
+        assertMalformed(NAME_LENGTH_OFFSET, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void negativeStringLengthIsMalformed() throws IOException {
+        assertMalformed(NAME_LENGTH_OFFSET, -2);
+    }
+
+    private void assertMalformed(int offset, int value) throws IOException {
+        byte[] content = snapshot();
+        ByteBuffer.wrap(content).putInt(offset, value);
+        Path path = write(content);
+
+        assertThrows(JsonFileIOException.class, () -> format.read(path, Category.class));
+    }
+
+    private byte[] snapshot() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        format.write(out, Set.of(new Category(UUID.randomUUID(), "Poetry")), Category.class);
+        return out.toByteArray();
+    }
+
+    private Path write(byte[] content) throws IOException {
+        return Files.write(directory.resolve("categories.bin"), content);
+    }
+}
@@ -0,0 +1,84 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the versions a commit fixes, which the references written by the commit are checked against.
+ */
+class CheckpointVersionTest {
+
+    private final Gson gson = EntityTypeAdapterFactory.registerAll(new GsonBuilder()).create();
+    private final Category poetry = new Category(UUID.randomUUID(), "Poetry");
+    private final Category drama = new Category(UUID.randomUUID(), "Drama");
+    private final Category essays = new Category(UUID.randomUUID(), "Essays");
+    private GenericJsonRepository<Category> repository;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void fill() {
+        repository = new GenericJsonRepository<>(gson, new JsonSnapshotFormat(gson),
+            directory.resolve("categories.json"), Category.class);
+        repository.addAll(List.of(poetry, drama));
+    }
+
+    @Test
+    void updatesAfterTheCheckpointBeganAreNotInItsVersion() {
+        repository.beginCheckpoint();
+        repository.remove(poetry);
+        repository.add(essays);
+
+        assertTrue(repository.isInVersion(poetry.getId()));
+        assertTrue(repository.isInVersion(drama.getId()));
+        assertFalse(repository.isInVersion(essays.getId()));
+
+        repository.completeCheckpoint();
+        assertFalse(repository.isInVersion(poetry.getId()));
+        assertTrue(repository.isInVersion(essays.getId()));
+    }
+
+    @Test
+    void updatesAfterTheCheckpointBeganAreNotWritten() {
+        Supplier<Set<Category>> snapshot = repository.beginCheckpoint();
+        repository.remove(poetry);
+        repository.add(essays);
+
+        assertEquals(Set.of(poetry, drama), snapshot.get());
+    }
+
+    @Test
+    void updatesAfterTheVersionOfAnUnchangedRepositoryWasFixedAreNotInIt() {
+        repository.markClean();
+        repository.fixVersion();
+        repository.add(essays);
+
+        assertTrue(repository.isInVersion(poetry.getId()));
+        assertFalse(repository.isInVersion(essays.getId()));
+
+        repository.releaseVersion();
+        assertTrue(repository.isInVersion(essays.getId()));
+    }
+
+    @Test
+    void versionOfARepositoryWithUncommittedChangesHoldsNothing() {
+        repository.fixVersion();
+
+        assertFalse(repository.isInVersion(poetry.getId()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.GsonBuilder;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests reading repository files with values the entity adapters cannot convert, and with stored entities the
+ * entity constructors would reject.
+ */
+class JsonSnapshotFormatTest {
+
+    private static final String ID = "\"id\":\"0aee2235-5a66-4015-be35-e519638b8c5c\"";
+    private static final String CATEGORY = "{\"id\":\"4f9e0b35-2073-4f61-87e6-c91741702c10\",\"name\":\"Poetry\"}";
+
+    private final JsonSnapshotFormat format =
+        new JsonSnapshotFormat(EntityTypeAdapterFactory.registerAll(new GsonBuilder()).create());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void invalidUuidIsMalformed() throws IOException {
+        Path path = write("[{\"id\":\"not-a-uuid\",\"name\":\"Poetry\"}]");
+
+        assertThrows(JsonFileIOException.class, () -> format.read(path, Category.class));
+    }
+
+    @Test
+    void fractionalYearIsMalformed() throws IOException {
+        Path path = write("[{" + ID + ",\"title\":\"Odes\",\"author\":\"Keats\",\"category\":" + CATEGORY
+            + ",\"yearPublished\":1819.5}]");
+
+        assertThrows(JsonFileIOException.class, () -> format.read(path, Book.class));
+    }
+
+    @Test
+    void invalidDateIsMalformed() throws IOException {
+        Path path = write("[{" + ID + ",\"loanDate\":\"2024-02-01\",\"dueDate\":\"14-03-2024\"}]");
+
+        assertThrows(JsonFileIOException.class, () -> format.read(path, Loan.class));
+    }
+
+    @Test
+    void bookOutsideTheYearRangeIsRead() throws IOException {
+        Path path = write("[{" + ID + ",\"title\":\"Beowulf\",\"author\":\" \",\"category\":" + CATEGORY
+            + ",\"yearPublished\":975}]");
+
+        Set<Book> books = format.read(path, Book.class);
+
+        assertEquals(975, books.iterator().next().getYearPublished());
+    }
+
+    @Test
+    void reviewWithoutReviewerIsRead() throws IOException {
+        Path path = write("[{" + ID + ",\"reviewText\":\"Fine\",\"rating\":0}]");
+
+        Set<Review> reviews = format.read(path, Review.class);
+
+        assertNull(reviews.iterator().next().getReviewer());
+    }
+
+    private Path write(String content) throws IOException {
+        Path path = directory.resolve("entities.json");
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path;
+    }
+}
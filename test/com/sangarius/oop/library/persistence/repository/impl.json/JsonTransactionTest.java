@@ -0,0 +1,111 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.Entity;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.exception.EntityArgumentException;
+import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+import com.sangarius.oop.library.persistence.repository.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a transaction failing to commit changes neither the repositories nor their files.
+ */
+class JsonTransactionTest {
+
+    private final Category poetry = new Category(UUID.randomUUID(), "Poetry");
+    private final User ann = new User(UUID.randomUUID(), "ann@example.com", "Ann");
+    private boolean failingUserWrites;
+    private JsonRepositoryFactory factory;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void store() {
+        System.setProperty(JsonPathFactory.DATA_DIRECTORY_PROPERTY, directory.toString());
+        factory = new JsonRepositoryFactory((gson, linker) -> new JsonSnapshotFormat(gson, linker) {
+            @Override
+            public <E extends Entity> void write(OutputStream out, Set<E> entities, Class<E> entityType)
+                throws IOException {
+                if (failingUserWrites && entityType == User.class) {
+                    throw new IOException("No space left on device");
+                }
+                super.write(out, entities, entityType);
+            }
+        });
+        factory.getCategoryRepository().add(poetry);
+        factory.getUserRepository().add(ann);
+        factory.commit();
+    }
+
+    @AfterEach
+    void clear() {
+        System.clearProperty(JsonPathFactory.DATA_DIRECTORY_PROPERTY);
+    }
+
+    @Test
+    void rejectedBatchLeavesTheRepositoriesUnchangedAndCanBeRolledBack() {
+        Category drama = new Category(UUID.randomUUID(), "Drama");
+        User invalid = new User(UUID.randomUUID(), "bob@example.com", "Bob");
+        invalid.setName(" ");
+        Transaction transaction = factory.begin();
+        transaction.add(factory.getCategoryRepository(), drama);
+        transaction.add(factory.getUserRepository(), invalid);
+        transaction.remove(factory.getUserRepository(), ann);
+
+        assertThrows(EntityArgumentException.class, transaction::commit);
+
+        assertEquals(Set.of(poetry), Set.copyOf(factory.getCategoryRepository().findAll()));
+        assertEquals(Set.of(ann), Set.copyOf(factory.getUserRepository().findAll()));
+        transaction.rollback();
+        assertThrows(IllegalStateException.class, transaction::commit);
+        assertEquals(Set.of(poetry), Set.copyOf(factory.getCategoryRepository().findAll()));
+    }
+
+    @Test
+    void failedStageLeavesEveryFileAsItWas() throws IOException {
+        Path categories = JsonPathFactory.CATEGORIES.getPath();
+        Path users = JsonPathFactory.USERS.getPath();
+        byte[] storedCategories = Files.readAllBytes(categories);
+        byte[] storedUsers = Files.readAllBytes(users);
+        Category drama = new Category(UUID.randomUUID(), "Drama");
+        User bob = new User(UUID.randomUUID(), "bob@example.com", "Bob");
+        Transaction transaction = factory.begin();
+        transaction.add(factory.getCategoryRepository(), drama);
+        transaction.add(factory.getUserRepository(), bob);
+        transaction.remove(factory.getCategoryRepository(), poetry);
+        failingUserWrites = true;
+
+        assertThrows(JsonFileIOException.class, transaction::commit);
+
+        assertArrayEquals(storedCategories, Files.readAllBytes(categories));
+        assertArrayEquals(storedUsers, Files.readAllBytes(users));
+        try (var files = Files.list(directory)) {
+            assertEquals(Set.of(categories.getFileName(), users.getFileName()),
+                Set.copyOf(files.map(Path::getFileName).toList()));
+        }
+        assertEquals(Set.of(poetry), Set.copyOf(factory.getCategoryRepository().findAll()));
+        assertEquals(Set.of(ann), Set.copyOf(factory.getUserRepository().findAll()));
+
+        failingUserWrites = false;
+        transaction.commit();
+        assertEquals(Set.of(drama), Set.copyOf(factory.getCategoryRepository().findAll()));
+        assertTrue(factory.getUserRepository().findById(bob.getId()).isPresent());
+    }
+}
@@ -0,0 +1,154 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.repository.Page;
+import com.sangarius.oop.library.persistence.repository.PageRequest;
+import com.sangarius.oop.library.persistence.repository.PageRequest.Direction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests paging through a sorted index and through a whole repository, by keyset and by page number.
+ */
+class PagingTest {
+
+    private static final Comparator<Category> BY_NAME = Comparator.comparing(Category::getName);
+    private static final int SIZE = 2;
+
+    private final Gson gson = EntityTypeAdapterFactory.registerAll(new GsonBuilder()).create();
+    private final List<Category> categories = Stream.of("Poetry", "Drama", "Drama", "Essays", "Drama", "Essays",
+        "Fables").map(name -> new Category(UUID.randomUUID(), name)).toList();
+    private final SortedIndex<String, Category> index = new SortedIndex<>(Category::getName);
+    private GenericJsonRepository<Category> repository;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void fill() {
+        index.addAll(categories);
+        repository = new GenericJsonRepository<>(gson, new JsonSnapshotFormat(gson),
+            directory.resolve("categories.json"), Category.class);
+        repository.addAll(categories);
+    }
+
+    @Test
+    void indexPagesAscendingAcrossDuplicateKeys() {
+        assertPages(Direction.ASCENDING, index::page);
+    }
+
+    @Test
+    void indexPagesDescendingAcrossDuplicateKeys() {
+        assertPages(Direction.DESCENDING, index::page);
+    }
+
+    @Test
+    void repositoryPagesAscendingAcrossDuplicateKeys() {
+        assertPages(Direction.ASCENDING, request -> repository.findPage(BY_NAME, request));
+    }
+
+    @Test
+    void repositoryPagesDescendingAcrossDuplicateKeys() {
+        assertPages(Direction.DESCENDING, request -> repository.findPage(BY_NAME, request));
+    }
+
+    @Test
+    void indexResumesAfterTheRemovedLastEntity() {
+        assertResumesAfterRemoval(1, index::page, index::remove);
+    }
+
+    @Test
+    void indexResumesAfterTheRemovedOnlyEntityOfItsKey() {
+        assertResumesAfterRemoval(5, index::page, index::remove);
+    }
+
+    @Test
+    void repositoryResumesAfterTheRemovedLastEntity() {
+        assertResumesAfterRemoval(1, request -> repository.findPage(BY_NAME, request), repository::remove);
+    }
+
+    @Test
+    void repositoryResumesAfterTheRemovedOnlyEntityOfItsKey() {
+        assertResumesAfterRemoval(5, request -> repository.findPage(BY_NAME, request), repository::remove);
+    }
+
+    @Test
+    void indexPageNumberPastTheEndIsEmpty() {
+        assertEmptyPastTheEnd(index::page);
+    }
+
+    @Test
+    void repositoryPageNumberPastTheEndIsEmpty() {
+        assertEmptyPastTheEnd(request -> repository.findPage(BY_NAME, request));
+    }
+
+    /**
+     * Follows the keyset requests from the first page and requests the same pages by number; both must list every
+     * entity once, in key order with ties broken by ID.
+     */
+    private void assertPages(Direction direction, Function<PageRequest, Page<Category>> pager) {
+        List<Category> expected = sorted(categories, direction);
+        List<Category> byKeyset = new ArrayList<>();
+        List<Category> byNumber = new ArrayList<>();
+        Page<Category> page = pager.apply(PageRequest.of(0, SIZE, direction));
+        int number = 0;
+        while (true) {
+            assertTrue(page.getContent().size() <= SIZE);
+            byKeyset.addAll(page.getContent());
+            byNumber.addAll(pager.apply(PageRequest.of(number++, SIZE, direction)).getContent());
+            if (!page.hasNext()) {
+                break;
+            }
+            page = pager.apply(page.nextPageRequest().orElseThrow());
+        }
+        assertEquals(expected, byKeyset);
+        assertEquals(expected, byNumber);
+        assertEquals(List.of(), pager.apply(PageRequest.of(number, SIZE, direction)).getContent());
+    }
+
+    /**
+     * Removes the entity a page ended with before requesting the next page, which must start right after it.
+     */
+    private void assertResumesAfterRemoval(int cursor, Function<PageRequest, Page<Category>> pager,
+                                           Consumer<Category> remover) {
+        List<Category> expected = sorted(categories, Direction.ASCENDING);
+        Page<Category> first = pager.apply(PageRequest.of(0, cursor + 1, Direction.ASCENDING));
+        Category last = first.getContent().get(cursor);
+        assertEquals(expected.get(cursor), last);
+
+        remover.accept(last);
+        Page<Category> next = pager.apply(first.nextPageRequest().orElseThrow());
+
+        assertEquals(expected.subList(cursor + 1, Math.min(expected.size(), 2 * cursor + 2)), next.getContent());
+    }
+
+    private void assertEmptyPastTheEnd(Function<PageRequest, Page<Category>> pager) {
+        Page<Category> page = pager.apply(PageRequest.of(10, SIZE, Direction.ASCENDING));
+
+        assertEquals(List.of(), page.getContent());
+        assertFalse(page.hasNext());
+    }
+
+    private static List<Category> sorted(List<Category> categories, Direction direction) {
+        Comparator<Category> order = BY_NAME.thenComparing(Category::getId);
+        return categories.stream()
+            .sorted(direction == Direction.DESCENDING ? order.reversed() : order)
+            .toList();
+    }
+}
@@ -0,0 +1,133 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.Library;
+import com.sangarius.oop.library.persistence.entity.impl.Loan;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests that the repositories of a factory share one instance per entity, whatever order their files are loaded in.
+ */
+class ReferenceLinkerTest {
+
+    private final Category poetry = new Category(UUID.randomUUID(), "Poetry");
+    private final Book odes = new Book(UUID.randomUUID(), "Odes", "Keats", poetry, 1819);
+    private final User ann = new User(UUID.randomUUID(), "ann@example.com", "Ann");
+    private final Loan loan = new Loan(UUID.randomUUID(), LocalDate.of(2024, 1, 10), LocalDate.of(2024, 2, 10), ann, odes);
+    private final Review review = new Review(UUID.randomUUID(), "Lovely", 5, ann, odes);
+    private final Library library = new Library(UUID.randomUUID(), "Central", "Main Street 1", "central@example.com");
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void store() {
+        System.setProperty(JsonPathFactory.DATA_DIRECTORY_PROPERTY, directory.toString());
+        odes.addReview(review);
+        library.getLoans().add(loan);
+
+        JsonRepositoryFactory factory = new JsonRepositoryFactory(JsonSnapshotFormat::new);
+        factory.getCategoryRepository().add(poetry);
+        factory.getBookRepository().add(odes);
+        factory.getUserRepository().add(ann);
+        factory.getLoanRepository().add(loan);
+        factory.getReviewRepository().add(review);
+        factory.getLibraryRepository().add(library);
+        factory.commit();
+    }
+
+    @AfterEach
+    void clear() {
+        System.clearProperty(JsonPathFactory.DATA_DIRECTORY_PROPERTY);
+        System.clearProperty(BootstrapMode.PROPERTY);
+    }
+
+    @Test
+    void eagerLoadSharesOneInstancePerEntity() {
+        System.setProperty(BootstrapMode.PROPERTY, BootstrapMode.SEQUENTIAL.name());
+
+        assertLinked(new JsonRepositoryFactory(JsonSnapshotFormat::new));
+    }
+
+    @Test
+    void parallelLoadSharesOneInstancePerEntity() {
+        System.setProperty(BootstrapMode.PROPERTY, BootstrapMode.PARALLEL.name());
+
+        assertLinked(new JsonRepositoryFactory(JsonSnapshotFormat::new));
+    }
+
+    @Test
+    void lazyLoadOfTheAssociatedRepositoriesFirstSharesOneInstancePerEntity() {
+        JsonRepositoryFactory factory = new JsonRepositoryFactory(JsonSnapshotFormat::new);
+        factory.getCategoryRepository();
+        factory.getUserRepository();
+        factory.getBookRepository();
+        factory.getReviewRepository();
+        factory.getLoanRepository();
+        factory.getLibraryRepository();
+
+        assertLinked(factory);
+    }
+
+    @Test
+    void lazyLoadOfTheAssociatingRepositoriesFirstSharesOneInstancePerEntity() {
+        JsonRepositoryFactory factory = new JsonRepositoryFactory(JsonSnapshotFormat::new);
+        factory.getLibraryRepository();
+        factory.getLoanRepository();
+        factory.getReviewRepository();
+        factory.getBookRepository();
+        factory.getUserRepository();
+        factory.getCategoryRepository();
+
+        assertLinked(factory);
+    }
+
+    @Test
+    void copiesReadBeforeTheirRepositoryLoadedAreRelinkedOnceItLoads() {
+        JsonRepositoryFactory factory = new JsonRepositoryFactory(JsonSnapshotFormat::new);
+        Loan storedLoan = factory.getLoanRepository().findById(loan.getId()).orElseThrow();
+        Review storedReview = factory.getReviewRepository().findById(review.getId()).orElseThrow();
+        User copy = storedLoan.getBorrower();
+
+        User storedUser = factory.getUserRepository().findById(ann.getId()).orElseThrow();
+
+        assertNotSame(copy, storedUser);
+        assertSame(storedUser, storedLoan.getBorrower());
+        assertSame(storedUser, storedReview.getReviewer());
+        assertEquals(Set.of(storedLoan), Set.copyOf(factory.getLoanRepository().findAllByBorrower(storedUser)));
+        assertEquals(Set.of(storedReview), Set.copyOf(factory.getReviewRepository().findAllByReviewer(storedUser)));
+    }
+
+    private void assertLinked(JsonRepositoryFactory factory) {
+        User storedUser = factory.getUserRepository().findById(ann.getId()).orElseThrow();
+        Book storedBook = factory.getBookRepository().findById(odes.getId()).orElseThrow();
+        Loan storedLoan = factory.getLoanRepository().findById(loan.getId()).orElseThrow();
+        Review storedReview = factory.getReviewRepository().findById(review.getId()).orElseThrow();
+        Library storedLibrary = factory.getLibraryRepository().findById(library.getId()).orElseThrow();
+
+        assertSame(storedUser, storedLoan.getBorrower());
+        assertSame(storedUser, storedReview.getReviewer());
+        assertSame(storedUser, storedBook.getReviews().get(0).getReviewer());
+        assertSame(storedBook, storedLoan.getBorrowedBook());
+        assertSame(storedBook, storedReview.getBook());
+        assertSame(storedLoan, storedLibrary.getLoans().get(0));
+        assertSame(factory.getCategoryRepository().findById(poetry.getId()).orElseThrow(), storedBook.getCategory());
+        assertEquals(Set.of(storedLoan), Set.copyOf(factory.getLoanRepository().findAllByBorrower(storedUser)));
+        assertEquals(Set.of(storedReview), Set.copyOf(factory.getReviewRepository().findAllByReviewer(storedUser)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the search of a text index stopping early returns the best matches of the full ranking.
+ */
+class TextIndexTest {
+
+    private static final String[] WORDS = {"poetry", "poems", "poet", "prose", "drama", "dramatic", "essays",
+        "essay", "fables", "fable", "modern", "classic", "classical", "verse", "versed"};
+
+    @Test
+    void topMatchesArePrefixOfTheFullRanking() {
+        Random random = new Random(42);
+        for (int catalog = 0; catalog < 300; catalog++) {
+            TextIndex<Category> index = new TextIndex<>(Category::getName);
+            List<Category> categories = new ArrayList<>();
+            for (int i = 0; i < 20 + random.nextInt(60); i++) {
+                categories.add(new Category(new UUID(random.nextLong(), random.nextLong()), text(random, 3)));
+            }
+            index.addAll(categories);
+            String query = text(random, 2).replaceAll("(\\w{2,4})\\w*$", "$1");
+            List<Category> ranking = index.search(query, Integer.MAX_VALUE);
+            for (int limit = 1; limit <= 10; limit++) {
+                assertEquals(ranking.subList(0, Math.min(limit, ranking.size())), index.search(query, limit),
+                    "catalog " + catalog + ", query '" + query + "', limit " + limit);
+            }
+        }
+    }
+
+    @Test
+    void exactWordRanksBeforeLongerWords() {
+        Category poet = new Category(UUID.randomUUID(), "Poet");
+        Category poetry = new Category(UUID.randomUUID(), "Poetry");
+        TextIndex<Category> index = new TextIndex<>(Category::getName);
+        index.addAll(List.of(poetry, poet));
+
+        assertEquals(List.of(poet, poetry), index.search("poet", 10));
+    }
+
+    private static String text(Random random, int maxWords) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0, words = 1 + random.nextInt(maxWords); i < words; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the typo-tolerant search of a trigram index against a brute-force Jaccard ranking.
+ */
+class TrigramIndexTest {
+
+    private static final Category FICTION = new Category(UUID.randomUUID(), "Fiction");
+    private static final String[] WORDS = {"harry", "potter", "hairy", "peter", "pan", "pottery", "basics", "stone",
+        "stones", "philosopher", "chamber", "secrets", "secret", "prisoner", "hobbit", "rabbit", "habit", "tolkien"};
+
+    @Test
+    void misspelledTitleFindsTheBookFirst() {
+        Book potter = book("Harry Potter", "J. K. Rowling");
+        TrigramIndex<Book> index = new TrigramIndex<>(List.of(Book::getTitle, Book::getAuthor));
+        index.addAll(List.of(book("Hairy Maclary", "Lynley Dodd"), book("Peter Pan", "J. M. Barrie"),
+            book("Pottery Basics", "Anne Clay"), potter));
+
+        assertEquals(potter, index.search("Hary Poter", 3).get(0));
+    }
+
+    @Test
+    void topMatchesAreTheBruteForceRanking() {
+        Random random = new Random(7);
+        for (int catalog = 0; catalog < 300; catalog++) {
+            List<Book> books = new ArrayList<>();
+            for (int i = 0; i < 20 + random.nextInt(60); i++) {
+                books.add(new Book(new UUID(random.nextLong(), random.nextLong()), text(random), text(random),
+                    FICTION, 2000));
+            }
+            TrigramIndex<Book> index = new TrigramIndex<>(List.of(Book::getTitle, Book::getAuthor));
+            index.addAll(books);
+            String query = misspell(random, books.get(random.nextInt(books.size())).getTitle());
+            List<Book> ranking = bruteForce(books, query);
+            for (int limit = 1; limit <= 10; limit++) {
+                assertEquals(ranking.subList(0, Math.min(limit, ranking.size())), index.search(query, limit),
+                    "catalog " + catalog + ", query '" + query + "', limit " + limit);
+            }
+        }
+    }
+
+    private static List<Book> bruteForce(List<Book> books, String query) {
+        long[] queryTrigrams = TrigramIndex.trigrams(query);
+        Map<Book, Double> similarities = new HashMap<>();
+        for (Book book : books) {
+            double similarity = Math.max(jaccard(queryTrigrams, TrigramIndex.trigrams(book.getTitle())),
+                jaccard(queryTrigrams, TrigramIndex.trigrams(book.getAuthor())));
+            if (similarity >= TrigramIndex.MIN_SIMILARITY) {
+                similarities.put(book, similarity);
+            }
+        }
+        return similarities.keySet().stream()
+            .sorted(Comparator.<Book>comparingDouble(similarities::get).reversed().thenComparing(Book::getId))
+            .toList();
+    }
+
+    private static double jaccard(long[] first, long[] second) {
+        int shared = 0;
+        for (long trigram : first) {
+            for (long other : second) {
+                if (trigram == other) {
+                    shared++;
+                }
+            }
+        }
+        return (double) shared / (first.length + second.length - shared);
+    }
+
+    private static String text(Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String misspell(Random random, String text) {
+        int at = random.nextInt(text.length());
+        return random.nextBoolean() ? text.substring(0, at) + text.substring(at + 1)
+            : text.substring(0, at) + text.charAt(at) + text.substring(at);
+    }
+
+    private static Book book(String title, String author) {
+        return new Book(UUID.randomUUID(), title, author, FICTION, 2000);
+    }
+}
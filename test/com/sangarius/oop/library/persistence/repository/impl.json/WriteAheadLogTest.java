@@ -0,0 +1,133 @@
+package com.sangarius.oop.library.persistence.repository.impl.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.exception.JsonFileIOException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests replaying the write-ahead log after crashes that left its last record incomplete and after checkpoints
+ * that failed.
+ */
+class WriteAheadLogTest {
+
+    private final Gson gson = EntityTypeAdapterFactory.registerAll(new GsonBuilder()).create();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tornLastRecordIsDroppedAndTheNextRecordIsKept() throws IOException {
+        Category kept = category("Poetry");
+        String record = record(kept);
+        write(record + "\n" + record(category("Drama")).substring(0, 20));
+
+        Replay first = open();
+        first.log.appendAdd(category("Essays"));
+
+        assertEquals(List.of("Poetry"), names(first.added));
+        assertEquals(List.of("Poetry", "Essays"), names(open().added));
+    }
+
+    @Test
+    void completeLastRecordWithoutLineBreakIsKeptWithTheNextRecord() throws IOException {
+        write(record(category("Poetry")));
+
+        Replay first = open();
+        first.log.appendAdd(category("Essays"));
+
+        assertEquals(List.of("Poetry"), names(first.added));
+        assertEquals(List.of("Poetry", "Essays"), names(open().added));
+        assertEquals(2, Files.readAllLines(logPath()).size());
+    }
+
+    @Test
+    void tornRemovalIsNotAppliedAsAShorterId() throws IOException {
+        Category category = category("Poetry");
+        String removal = "REMOVE " + category.getId();
+        write(record(category) + "\n" + removal.substring(0, removal.length() - 4));
+
+        Replay replay = open();
+
+        assertEquals(List.of("Poetry"), names(replay.added));
+        assertEquals(List.of(), replay.removed);
+    }
+
+    @Test
+    void corruptedRecordBeforeTheEndFailsTheReplay() throws IOException {
+        write("ADD {\"id\":\n" + record(category("Poetry")) + "\n");
+
+        assertThrows(JsonFileIOException.class, this::open);
+    }
+
+    @Test
+    void corruptedLastRecordWithLineBreakFailsTheReplay() throws IOException {
+        write(record(category("Poetry")) + "\nUPDATE " + UUID.randomUUID() + "\n");
+
+        assertThrows(JsonFileIOException.class, this::open);
+    }
+
+    @Test
+    void rotationAfterAFailedCheckpointKeepsAllRecords() {
+        WriteAheadLog<Category> log = open().log;
+        log.appendAdd(category("Poetry"));
+        log.rotate();
+        log.appendAdd(category("Drama"));
+        // The checkpoint of the first rotation failed, so its records were not discarded
+        log.rotate();
+        log.appendAdd(category("Essays"));
+
+        assertEquals(List.of("Poetry", "Drama", "Essays"), names(open().added));
+        log.discardRotated();
+        assertEquals(List.of("Essays"), names(open().added));
+    }
+
+    private Replay open() {
+        Replay replay = new Replay(new WriteAheadLog<>(gson, directory.resolve("categories.json"), Category.class));
+        replay.log.open(replay.added::add, replay.removed::add);
+        return replay;
+    }
+
+    private String record(Category category) {
+        return "ADD " + gson.toJson(category, Category.class);
+    }
+
+    private void write(String content) throws IOException {
+        Files.writeString(logPath(), content, StandardCharsets.UTF_8);
+    }
+
+    private Path logPath() {
+        return directory.resolve("categories.json.wal");
+    }
+
+    private static Category category(String name) {
+        return new Category(UUID.randomUUID(), name);
+    }
+
+    private static List<String> names(List<Category> categories) {
+        return categories.stream().map(Category::getName).toList();
+    }
+
+    /**
+     * A log opened by a test with the mutations it replayed.
+     */
+    private record Replay(WriteAheadLog<Category> log, List<Category> added, List<UUID> removed) {
+
+        Replay(WriteAheadLog<Category> log) {
+            this(log, new ArrayList<>(), new ArrayList<>());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.sangarius.oop.library.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sangarius.oop.library.persistence.entity.impl.Book;
+import com.sangarius.oop.library.persistence.entity.impl.Category;
+import com.sangarius.oop.library.persistence.entity.impl.EntityRestorer;
+import com.sangarius.oop.library.persistence.entity.impl.Review;
+import com.sangarius.oop.library.persistence.entity.impl.User;
+import com.sangarius.oop.library.persistence.exception.EntityArgumentException;
+import com.sangarius.oop.library.persistence.repository.impl.json.BookJsonRepositoryImpl;
+import com.sangarius.oop.library.persistence.repository.impl.json.EntityTypeAdapterFactory;
+import com.sangarius.oop.library.persistence.repository.impl.json.JsonPathFactory;
+import com.sangarius.oop.library.persistence.repository.impl.json.JsonSnapshotFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests editing a stored book in place.
+ */
+class BookRepositoryServiceTest {
+
+    private final Category poetry = new Category(UUID.randomUUID(), "Poetry");
+    private BookJsonRepositoryImpl books;
+    private BookRepositoryService service;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void open() {
+        System.setProperty(JsonPathFactory.DATA_DIRECTORY_PROPERTY, directory.toString());
+        Gson gson = EntityTypeAdapterFactory.registerAll(new GsonBuilder()).create();
+        books = new BookJsonRepositoryImpl(gson, new JsonSnapshotFormat(gson));
+        service = new BookRepositoryService(books);
+    }
+
+    @AfterEach
+    void close() {
+        System.clearProperty(JsonPathFactory.DATA_DIRECTORY_PROPERTY);
+    }
+
+    @Test
+    void editChangesTheStoredBookSeenByItsReviews() {
+        Book book = new Book(UUID.randomUUID(), "Odes", "Keats", poetry, 1819);
+        Review review = new Review(UUID.randomUUID(), "Lovely", 5, new User(UUID.randomUUID(), "a@b.com", "Ann"), book);
+        book.addReview(review);
+        books.add(book);
+
+        Book edited = service.editBook(book.getId(), candidate -> candidate.setAuthor("John Keats")).orElseThrow();
+
+        assertSame(book, edited);
+        assertSame(book, review.getBook());
+        assertEquals("John Keats", review.getBook().getAuthor());
+        assertTrue(books.findAllByAuthor("Keats").isEmpty());
+        assertEquals(List.of(book), List.copyOf(books.findAllByAuthor("John Keats")));
+    }
+
+    @Test
+    void bookStoredWithAnInvalidYearCanBeFixed() {
+        Book book = EntityRestorer.book(UUID.randomUUID(), "Odes", "Keats", poetry, 975);
+        books.add(book);
+
+        service.editBook(book.getId(), candidate -> candidate.setTitle("Collected Odes"));
+        service.editBook(book.getId(), candidate -> candidate.setYearPublished(1819));
+
+        assertEquals("Collected Odes", book.getTitle());
+        assertEquals(1819, book.getYearPublished());
+        assertTrue(book.isValid());
+    }
+
+    @Test
+    void invalidEditLeavesTheStoredBookUnchanged() {
+        Book book = new Book(UUID.randomUUID(), "Odes", "Keats", poetry, 1819);
+        books.add(book);
+
+        assertThrows(EntityArgumentException.class,
+            () -> service.editBook(book.getId(), candidate -> candidate.setYearPublished(99999)));
+        assertEquals(1819, book.getYearPublished());
+        assertTrue(book.isValid());
+    }
+}